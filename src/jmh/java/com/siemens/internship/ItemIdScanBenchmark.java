@@ -0,0 +1,53 @@
+package com.siemens.internship;
+
+import com.siemens.internship.benchmark.BenchmarkContexts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one chunk of candidate ids for processing: into a boxed List<Long> (the previous approach) versus
+ * straight into a long[] by {@link ItemBatchProcessor#readCandidateIds(long)}.
+ * Run with -prof gc to compare allocation per chunk (gc.alloc.rate.norm).
+ * In the application's package rather than the benchmark one, as both are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ItemIdScanBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private ConfigurableApplicationContext context;
+    private ItemBatchProcessor batchProcessor;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start("items.processing.chunk-size=" + CHUNK_SIZE);
+        batchProcessor = context.getBean(ItemBatchProcessor.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO item (id, name, email, status, version)"
+                + " SELECT x, 'Item' || x, 'item' || x || '@example.com', 'NEW', 0 FROM SYSTEM_RANGE(1, ?)", CHUNK_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> boxedIds() {
+        return jdbcTemplate.queryForList(ItemBatchProcessor.SELECT_CANDIDATES, Long.class, 0L, "PROCESSED", CHUNK_SIZE);
+    }
+
+    @Benchmark
+    public long[] primitiveIds() {
+        return batchProcessor.readCandidateIds(0L);
+    }
+}
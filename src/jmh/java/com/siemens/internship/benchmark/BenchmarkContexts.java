@@ -0,0 +1,39 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+// Starts the application without the web layer, for benchmarks that need the real service/repository beans
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .properties(properties)
+                .run();
+    }
+
+    /*
+        Starts the application with the given profile against a fresh database in dataDir (file-backed profiles only).
+        The URL (with the H2 settings of application-prod.properties) is passed as an argument,
+        because default properties would lose to the profile's own properties file.
+    */
+    static ConfigurableApplicationContext startWithProfile(String profile, Path dataDir) {
+        return new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .profiles(profile)
+                .run("prod".equals(profile)
+                        ? new String[] {"--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("items")
+                                + ";CACHE_SIZE=65536;WRITE_DELAY=1000;LOCK_MODE=3;LOCK_TIMEOUT=10000;DB_CLOSE_ON_EXIT=FALSE"}
+                        : new String[0]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Item;
+import com.siemens.internship.ItemProcessingExecutor;
+import com.siemens.internship.ItemProcessingListener;
+import com.siemens.internship.ItemProcessingMetrics;
+import com.siemens.internship.ItemProcessingPipeline;
+import com.siemens.internship.ItemProcessingProperties;
+import com.siemens.internship.ItemProcessor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link ItemProcessingPipeline} per chunk, with stages that do no work of their own: hand-off,
+ * submission, timeout tracking and result collection. Run with -prof gc and divide gc.alloc.rate.norm by
+ * the chunk size for the allocation per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemPipelineBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final ItemProcessingListener LISTENER = items -> {
+    };
+
+    private ItemProcessingExecutor executor;
+    private ItemProcessingPipeline pipeline;
+    private List<Item> chunk;
+
+    @Setup(Level.Trial)
+    public void createPipeline() {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.setMaxConcurrency(8);
+        properties.setPoolSize(8);
+        executor = new ItemProcessingExecutor(properties, new HikariDataSource());
+        ItemProcessingMetrics metrics = new ItemProcessingMetrics(new SimpleMeterRegistry(), executor);
+        pipeline = new ItemProcessingPipeline(List.of(stage("cpu", ItemProcessor.Kind.CPU),
+                stage("io", ItemProcessor.Kind.IO)), properties, metrics);
+        chunk = new ArrayList<>(CHUNK_SIZE);
+        for (long id = 1; id <= CHUNK_SIZE; id++) {
+            chunk.add(new Item(id, "Item" + id, "Description", "NEW", "item" + id + "@example.com"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void destroyPipeline() throws Exception {
+        pipeline.destroy();
+        executor.destroy();
+    }
+
+    @Benchmark
+    public List<Item> processChunk() {
+        return pipeline.process(chunk, executor, LISTENER);
+    }
+
+    private static ItemProcessor stage(String name, ItemProcessor.Kind kind) {
+        return new ItemProcessor() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Kind kind() {
+                return kind;
+            }
+
+            @Override
+            public Item process(Item item) {
+                return item;
+            }
+        };
+    }
+}
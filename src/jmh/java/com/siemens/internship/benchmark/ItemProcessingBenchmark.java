@@ -0,0 +1,68 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Item;
+import com.siemens.internship.ItemRepository;
+import com.siemens.internship.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link ItemService#processItemsAsync()} for different table sizes and executor sizes.
+ * Every invocation processes the whole table once; statuses are reset before each invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ItemProcessingBenchmark {
+
+    @Param({"100", "1000"})
+    private int itemCount;
+
+    @Param({"10", "100"})
+    private int executorSize;
+
+    @Param({"FIXED", "VIRTUAL"})
+    private String executorMode;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start(
+                "items.processing.executor-mode=" + executorMode,
+                "items.processing.pool-size=" + executorSize,
+                "items.processing.max-concurrency=" + executorSize);
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(null, "Item" + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+        }
+        context.getBean(ItemRepository.class).saveAll(items);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatuses() {
+        jdbcTemplate.update("UPDATE item SET status = 'NEW'");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> processItemsAsync() throws Exception {
+        return itemService.processItemsAsync().get();
+    }
+}
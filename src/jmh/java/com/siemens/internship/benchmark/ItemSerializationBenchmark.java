@@ -0,0 +1,40 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing item lists to JSON, as done for GET /api/items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ItemSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Item> items;
+
+    @Setup
+    public void createItems() {
+        items = new ArrayList<>(itemCount);
+        for (long i = 0; i < itemCount; i++) {
+            items.add(new Item(i, "Item" + i, "A reasonably long description for item " + i, "NEW", "item" + i + "@example.com"));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
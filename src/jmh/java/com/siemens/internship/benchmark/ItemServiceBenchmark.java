@@ -0,0 +1,72 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Item;
+import com.siemens.internship.ItemRepository;
+import com.siemens.internship.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the single-item CRUD paths: cached and uncached {@code findById}, and {@code save}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ItemServiceBenchmark {
+
+    private static final int ITEM_COUNT = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemRepository itemRepository;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start();
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = itemRepository.save(new Item(null, "Item" + i, "Description", "NEW", "item" + i + "@example.com"));
+            if (i == 0) {
+                firstId = item.getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(ITEM_COUNT);
+    }
+
+    // Through the service: served from the item cache after the first access
+    @Benchmark
+    @Threads(4)
+    public Optional<Item> findByIdCached() {
+        return itemService.findById(randomId());
+    }
+
+    // Straight to the repository: one database read per call
+    @Benchmark
+    @Threads(4)
+    public Optional<Item> findByIdUncached() {
+        return itemRepository.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Item save() {
+        return itemService.save(new Item(null, "Saved", "Description", "NEW", "saved@example.com"));
+    }
+}
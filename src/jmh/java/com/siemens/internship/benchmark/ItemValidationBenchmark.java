@@ -0,0 +1,52 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Item;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Bean Validation constraints on {@link Item}, as applied by {@code @Valid} on every write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ItemValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Item validItem;
+    private Item invalidItem;
+
+    @Setup
+    public void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validItem = new Item(1L, "Valid", "Description", "NEW", "valid@example.com");
+        invalidItem = new Item(2L, "", "x".repeat(300), "NEW", "invalid-email");
+    }
+
+    @TearDown
+    public void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> validateValidItem() {
+        return validator.validate(validItem);
+    }
+
+    // Building violation messages is the expensive part of a failed validation
+    @Benchmark
+    public Set<ConstraintViolation<Item>> validateInvalidItem() {
+        return validator.validate(invalidItem);
+    }
+}
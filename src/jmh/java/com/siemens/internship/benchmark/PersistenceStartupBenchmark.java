@@ -0,0 +1,45 @@
+package com.siemens.internship.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application startup time with the in-memory default profile (Hibernate creates the schema)
+ * and the file-backed prod profile (Flyway migrates a new database, Hibernate only validates it).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PersistenceStartupBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Invocation)
+    public void createDataDir() throws IOException {
+        dataDir = Files.createTempDirectory("items-startup");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopContext() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = BenchmarkContexts.startWithProfile(profile, dataDir);
+        return context;
+    }
+}
@@ -0,0 +1,64 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Item;
+import com.siemens.internship.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained write throughput of the in-memory default profile and the file-backed prod profile:
+ * single-item saves, and bulk inserts of 100 items per transaction. Scores are operations (not items) per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 5)
+public class PersistenceWriteBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void startContext() throws IOException {
+        dataDir = Files.createTempDirectory("items-writes");
+        context = BenchmarkContexts.startWithProfile(profile, dataDir);
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Item save() {
+        return itemService.save(new Item(null, "Saved", "Description", "NEW", "saved@example.com"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Item> saveAll() {
+        List<Item> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items.add(new Item(null, "Bulk" + i, "Description", "NEW", "bulk" + i + "@example.com"));
+        }
+        return itemService.saveAll(items);
+    }
+}
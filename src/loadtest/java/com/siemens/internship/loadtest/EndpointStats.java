@@ -0,0 +1,74 @@
+package com.siemens.internship.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one operation during the measured part of a run.
+ *
+ * - Latencies are recorded in microseconds, with 3 significant digits, into a histogram that request threads write
+ *   to concurrently; anything above an hour is clamped.
+ * - Every request sent ends up with either an HTTP status or an error (I/O failure or timeout). Requests the client
+ *   could not even send because max-in-flight was reached are counted as dropped.
+ */
+final class EndpointStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    // Sorted by status code, for the report
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordLatency(long nanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordStatus(int status) {
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    Map<Integer, LongAdder> statuses() {
+        return statuses;
+    }
+
+    // Requests without a usable answer: I/O errors, timeouts and 5xx responses
+    long failures() {
+        long serverErrors = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+        return errors.sum() + timeouts.sum() + serverErrors;
+    }
+
+    long timeouts() {
+        return timeouts.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,98 @@
+package com.siemens.internship.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Report of a load test run.
+ *
+ * - report.txt: the run's settings and environment, and one line per endpoint with throughput, p50/p99/p99.9/max latency
+ *   in milliseconds, failures and the response statuses.
+ * - <endpoint>.hgrm: the full latency distribution of each endpoint (and total.hgrm), in HdrHistogram's percentile
+ *   format, which its plotter can overlay to compare runs.
+ */
+final class LoadReport {
+
+    // Histograms hold microseconds; reports are in milliseconds
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestOptions options;
+    private final Map<Operation, EndpointStats> stats;
+    private final long due;
+    private final String requestThreads;
+    private final int liveItems;
+    private final OffsetDateTime finishedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final Histogram total = new Histogram(EndpointStats.HIGHEST_TRACKABLE_MICROS, 3);
+
+    LoadReport(LoadTestOptions options, Map<Operation, EndpointStats> stats, long due, String requestThreads, int liveItems) {
+        this.options = options;
+        this.stats = stats;
+        this.due = due;
+        this.requestThreads = requestThreads;
+        this.liveItems = liveItems;
+        stats.values().forEach(endpoint -> total.add(endpoint.latencies()));
+    }
+
+    String summary() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Load test of %s on Java %s, %d CPUs, %s%n",
+                finishedAt, Runtime.version(), Runtime.getRuntime().availableProcessors(), requestThreads));
+        report.append(String.format("Open loop at %s req/s for %s after %s warm-up; mix %s; %d seeded items, %d at the end%n",
+                options.rate(), options.duration(), options.warmup(), options.describeMix(), options.items(), liveItems));
+        report.append(String.format("Application arguments: %s%n", options.applicationArgs()));
+        report.append(String.format("Latency in ms from the time each request was due; %d requests were due%n%n", due));
+
+        report.append(String.format("%-8s %9s %9s %9s %9s %9s %9s %8s %8s  %s%n",
+                "endpoint", "requests", "req/s", "p50", "p99", "p99.9", "max", "failed", "dropped", "statuses"));
+        long failed = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            String statuses = endpoint.statuses().entrySet().stream()
+                    .map(status -> status.getKey() + "=" + status.getValue().sum())
+                    .collect(Collectors.joining(" "));
+            if (endpoint.timeouts() > 0) {
+                statuses += " timeout=" + endpoint.timeouts();
+            }
+            line(report, entry.getKey().label(), endpoint.latencies(), endpoint.failures(), endpoint.dropped(), statuses);
+            failed += endpoint.failures();
+            dropped += endpoint.dropped();
+        }
+        line(report, "total", total, failed, dropped, "");
+        return report.toString();
+    }
+
+    private void line(StringBuilder report, String name, Histogram latencies, long failed, long dropped, String statuses) {
+        long requests = latencies.getTotalCount();
+        report.append(String.format("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8d %8d  %s%n",
+                name, requests, requests / (options.duration().toNanos() / 1e9),
+                millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / MICROS_PER_MILLI, failed, dropped, statuses));
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(options.reportDir());
+        Files.writeString(options.reportDir().resolve("report.txt"), summary());
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            writeDistribution(entry.getKey().label(), entry.getValue().latencies());
+        }
+        writeDistribution("total", total);
+    }
+
+    private void writeDistribution(String name, Histogram latencies) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(options.reportDir().resolve(name + ".hgrm")))) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.siemens.internship.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The running application as seen by the operations: its base URI and the ids of the items that currently exist
+final class LoadTarget {
+
+    // Never assigned by the item sequence: used when no item is left, and answered like any unknown id
+    static final long NO_ITEM = 0;
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final int listLimit;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    // Guarded by this: ids of live items, unordered; removal swaps the last id into the freed slot
+    private long[] ids;
+    private int size;
+
+    LoadTarget(URI baseUri, Duration timeout, int listLimit, List<Long> seededIds) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.listLimit = listLimit;
+        this.ids = new long[Math.max(16, seededIds.size() * 2)];
+        seededIds.forEach(this::addId);
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    int listLimit() {
+        return listLimit;
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    // Sequence number for the names and e-mails of created items
+    long nextCreated() {
+        return createdCount.incrementAndGet();
+    }
+
+    synchronized void addId(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    // A random live item, which stays live as far as this client is concerned
+    synchronized long anyId() {
+        return size == 0 ? NO_ITEM : ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    // A random live item, removed so no other request picks it for deletion again
+    synchronized long takeId() {
+        if (size == 0) {
+            return NO_ITEM;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(size);
+        long id = ids[slot];
+        ids[slot] = ids[--size];
+        return id;
+    }
+
+    synchronized int liveItems() {
+        return size;
+    }
+}
@@ -0,0 +1,199 @@
+package com.siemens.internship.loadtest;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.Item;
+import com.siemens.internship.ItemService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the item REST API: starts the application on a random port and sends it a mix of
+ * create/get/update/delete/list/process requests over HTTP, then reports latency percentiles and throughput per endpoint.
+ *
+ * - The load is open loop: request n is due at start + n / rate, whether or not earlier requests have been answered,
+ *   as with real independent clients. Each request gets its own thread (virtual on Java 21+, otherwise from a cached
+ *   pool), so a slow server does not slow down the sending.
+ * - Latency is measured from the time a request was due, not from when it was actually sent. If the client or the
+ *   server falls behind, the waiting shows up in the percentiles instead of being hidden (coordinated omission).
+ * - Client and server share the machine, so results are meant for comparing runs on the same box, not as absolute capacity.
+ *
+ * Run with: ./mvnw -Ploadtest verify -DskipTests -Dloadtest.args="--rate=500 --duration=60s"
+ * (see {@link LoadTestOptions} for all settings).
+ */
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final LoadTarget target;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final HttpClient client;
+    private final Executor requestThreads;
+    private final String requestThreadsDescription;
+    private final Semaphore inFlight;
+
+    private LoadTest(LoadTestOptions options, LoadTarget target) {
+        this.options = options;
+        this.target = target;
+        options.mix().keySet().forEach(operation -> stats.put(operation, new EndpointStats()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        if (JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            this.requestThreads = new VirtualThreadTaskExecutor("loadtest-");
+            this.requestThreadsDescription = "virtual threads";
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.requestThreads = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.requestThreadsDescription = "platform threads (virtual threads need Java 21+)";
+        }
+        this.inFlight = new Semaphore(options.maxInFlight());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = start(options)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> seededIds = seed(context.getBean(ItemService.class), options.items());
+            LoadTest loadTest = new LoadTest(options,
+                    new LoadTarget(URI.create("http://localhost:" + port), options.timeout(), options.listLimit(), seededIds));
+
+            System.out.printf("Sending %s req/s (%s) to port %d: %s warm-up, then %s measured%n",
+                    options.rate(), options.describeMix(), port, options.warmup(), options.duration());
+            long sent = loadTest.run();
+
+            LoadReport report = new LoadReport(options, loadTest.stats, sent, loadTest.requestThreadsDescription,
+                    loadTest.target.liveItems());
+            System.out.print(report.summary());
+            report.write();
+            System.out.println("Report written to " + options.reportDir().toAbsolutePath());
+            if (loadTest.requestThreads instanceof ExecutorService executorService) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN"));
+        // Given last, so the caller's arguments win
+        args.addAll(options.applicationArgs());
+        return new SpringApplicationBuilder(InternshipApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // Inserted in bulk through the service (not timed), so the run starts against a table of realistic size
+    private static List<Long> seed(ItemService itemService, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "Seed " + i, "Inserted before the load test", "NEW", "seed" + i + "@example.com"));
+        }
+        return itemService.saveAll(items).stream().map(Item::getId).toList();
+    }
+
+    /*
+        Sends requests on schedule until the end of the measured period, then waits for the open ones.
+        Returns the number of requests due in the measured period (sent or dropped).
+    */
+    private long run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long measured = 0;
+        for (long n = 0; ; n++) {
+            long due = start + (long) (n * intervalNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            waitUntil(due);
+            Operation operation = options.pick(random);
+            // Requests due during the warm-up are sent, but not recorded
+            EndpointStats recordTo = due - measureFrom >= 0 ? stats.get(operation) : null;
+            if (recordTo != null) {
+                measured++;
+            }
+            if (!inFlight.tryAcquire()) {
+                if (recordTo != null) {
+                    recordTo.recordDropped();
+                }
+                continue;
+            }
+            requestThreads.execute(() -> {
+                try {
+                    send(operation, due, recordTo);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Requests still open finish within their timeout
+        long drainMillis = options.timeout().toMillis() + TimeUnit.SECONDS.toMillis(5);
+        if (!inFlight.tryAcquire(options.maxInFlight(), drainMillis, TimeUnit.MILLISECONDS)) {
+            System.out.printf("%d requests were still open after %d ms%n",
+                    options.maxInFlight() - inFlight.availablePermits(), drainMillis);
+        }
+        return measured;
+    }
+
+    private void send(Operation operation, long due, EndpointStats recordTo) {
+        try {
+            HttpResponse<String> response = client.send(operation.request(target), HttpResponse.BodyHandlers.ofString());
+            operation.completed(target, response);
+            if (recordTo != null) {
+                recordTo.recordStatus(response.statusCode());
+            }
+        } catch (HttpTimeoutException e) {
+            if (recordTo != null) {
+                recordTo.recordTimeout();
+            }
+        } catch (IOException e) {
+            if (recordTo != null) {
+                recordTo.recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (recordTo != null) {
+            recordTo.recordLatency(System.nanoTime() - due);
+        }
+    }
+
+    // Sleeps most of the way and spins the last stretch, since parking alone overshoots by tens of microseconds
+    private static void waitUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MICROSECONDS.toNanos(100)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MICROSECONDS.toNanos(50));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
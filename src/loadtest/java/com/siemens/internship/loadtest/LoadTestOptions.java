@@ -0,0 +1,110 @@
+package com.siemens.internship.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Settings of a load test run, parsed from --name=value arguments.
+ *
+ * - rate: requests per second offered to the server (open loop, independent of how fast it answers)
+ * - warmup / duration: how long requests are sent before and while latencies are recorded
+ * - mix: relative weights of the operations, e.g. create=15,get=40,update=15,delete=5,list=20,process=5
+ * - items: items inserted before the run, so reads, updates and deletes have something to work on
+ * - list-limit: page size of the list requests
+ * - timeout: per-request timeout; a timed-out request counts as an error with its full waiting time
+ * - max-in-flight: client-side cap of open requests; requests beyond it are dropped (and reported), not queued
+ * - report-dir: where the report and the per-endpoint latency distributions are written
+ *
+ * Any other argument (e.g. --spring.profiles.active=prod or --items.processing.pool-size=16) is passed to the application.
+ */
+record LoadTestOptions(double rate, Duration warmup, Duration duration, Map<Operation, Integer> mix, int items,
+                       int listLimit, Duration timeout, int maxInFlight, Path reportDir, List<String> applicationArgs) {
+
+    static final String DEFAULT_MIX = "create=15,get=40,update=15,delete=5,list=20,process=5";
+
+    static LoadTestOptions parse(String... args) {
+        double rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        String mix = DEFAULT_MIX;
+        int items = 1000;
+        int listLimit = 100;
+        Duration timeout = Duration.ofSeconds(10);
+        int maxInFlight = 10_000;
+        Path reportDir = Path.of("target", "loadtest");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : "";
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = value;
+                case "items" -> items = Integer.parseInt(value);
+                case "list-limit" -> listLimit = Integer.parseInt(value);
+                case "timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "report-dir" -> reportDir = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (rate <= 0 || duration.isZero() || duration.isNegative() || warmup.isNegative() || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, duration and max-in-flight must be positive, warmup must not be negative");
+        }
+        return new LoadTestOptions(rate, warmup, duration, parseMix(mix), items, listLimit, timeout, maxInFlight,
+                reportDir, List.copyOf(applicationArgs));
+    }
+
+    // "create=15,get=40" -> {CREATE=15, GET=40}; operations left out are not sent
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like operation=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain at least one operation");
+        }
+        return weights;
+    }
+
+    // Draws the next operation with probability proportional to its weight
+    Operation pick(Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int draw = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: draw below the total weight");
+    }
+
+    String describeMix() {
+        return mix.entrySet().stream()
+                .map(entry -> entry.getKey().label() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
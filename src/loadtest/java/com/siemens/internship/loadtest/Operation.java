@@ -0,0 +1,94 @@
+package com.siemens.internship.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+
+// ItemController calls mixed into the load, each building its request against the target's current items
+enum Operation {
+
+    CREATE {
+        @Override
+        HttpRequest request(LoadTarget target) {
+            return json(target.request("/api/items"))
+                    .POST(body(itemJson(target.nextCreated(), "Created by the load test")))
+                    .build();
+        }
+
+        // Created items become candidates for the following reads, updates and deletes
+        @Override
+        void completed(LoadTarget target, HttpResponse<String> response) throws IOException {
+            if (response.statusCode() == 201) {
+                JsonNode id = target.objectMapper().readTree(response.body()).path("id");
+                if (id.canConvertToLong()) {
+                    target.addId(id.asLong());
+                }
+            }
+        }
+    },
+
+    GET {
+        @Override
+        HttpRequest request(LoadTarget target) {
+            return target.request("/api/items/" + target.anyId()).GET().build();
+        }
+    },
+
+    UPDATE {
+        @Override
+        HttpRequest request(LoadTarget target) {
+            long id = target.anyId();
+            return json(target.request("/api/items/" + id))
+                    .PUT(body(itemJson(id, "Updated by the load test")))
+                    .build();
+        }
+    },
+
+    DELETE {
+        @Override
+        HttpRequest request(LoadTarget target) {
+            return target.request("/api/items/" + target.takeId()).DELETE().build();
+        }
+    },
+
+    LIST {
+        // One keyset page, starting at the beginning of the table
+        @Override
+        HttpRequest request(LoadTarget target) {
+            return target.request("/api/items?limit=" + target.listLimit()).GET().build();
+        }
+    },
+
+    PROCESS {
+        // Starts a processing job; while one is running the server answers 429, which is reported as a status, not an error
+        @Override
+        HttpRequest request(LoadTarget target) {
+            return target.request("/api/items/process").POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+    };
+
+    abstract HttpRequest request(LoadTarget target);
+
+    void completed(LoadTarget target, HttpResponse<String> response) throws IOException {
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder) {
+        return builder.header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private static String itemJson(long number, String description) {
+        return "{\"name\":\"Load " + number + "\",\"description\":\"" + description
+                + "\",\"status\":\"NEW\",\"email\":\"load" + number + "@example.com\"}";
+    }
+}
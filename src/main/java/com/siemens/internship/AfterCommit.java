@@ -0,0 +1,25 @@
+package com.siemens.internship;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers side effects of a write (events, in-memory indexes) until its transaction commits
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Runs the action after the current transaction commits (never if it rolls back), or right away outside one
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.siemens.internship;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor of async MVC requests, i.e. the streamed item lists (StreamingResponseBody).
+ *
+ * Boot only creates its applicationTaskExecutor when the context has no other Executor bean, and
+ * {@link ItemProcessingExecutor} is one. Without it Spring MVC falls back to a thread per streaming request,
+ * without any limit. This bean takes that name, so MVC uses it, and is sized by spring.task.execution.pool.*;
+ * requests beyond its threads and queue are answered 503.
+ */
+@Configuration
+public class AsyncRequestConfig {
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
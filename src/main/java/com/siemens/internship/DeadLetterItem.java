@@ -0,0 +1,58 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// An item that failed processing for good (error, timeout or exhausted retries); written together with its chunk
+@Entity
+@Table(name = "item_dead_letter", indexes = @Index(name = "idx_item_dead_letter_item_id", columnList = "itemId"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetterItem {
+
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_dead_letter_seq")
+    @SequenceGenerator(name = "item_dead_letter_seq", sequenceName = "item_dead_letter_seq", allocationSize = 50)
+    private Long id;
+
+    private Long itemId;
+
+    private String stage;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    private int attempts;
+
+    private Instant failedAt;
+
+    static DeadLetterItem of(Item item, Throwable failure) {
+        String stage = null;
+        int attempts = 1;
+        if (failure instanceof ItemFailedException itemFailure) {
+            stage = itemFailure.getStage();
+            attempts = itemFailure.getAttempts();
+        }
+        String error = String.valueOf(failure.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        return new DeadLetterItem(null, item.getId(), stage, error, attempts, Instant.now());
+    }
+}
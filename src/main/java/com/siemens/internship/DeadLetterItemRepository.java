@@ -0,0 +1,14 @@
+package com.siemens.internship;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DeadLetterItemRepository extends JpaRepository<DeadLetterItem, Long> {
+
+    // Most recent failures first
+    List<DeadLetterItem> findByOrderByFailedAtDesc(Limit limit);
+
+    List<DeadLetterItem> findByItemIdOrderByFailedAtDesc(Long itemId, Limit limit);
+}
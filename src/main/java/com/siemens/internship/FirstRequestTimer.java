@@ -0,0 +1,57 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures time-to-first-request: from JVM start until the first HTTP response has been produced.
+ *
+ * Logged once and published as the application.first.request.time gauge, next to Spring Boot's own
+ * application.started.time and application.ready.time, so cold-start cost can be tracked across releases
+ * and compared between the regular and the AOT/CDS (fast-startup) build.
+ */
+@Component
+@Profile("!reactive")
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    // Milliseconds since JVM start; NaN until the first request completed
+    private volatile double firstRequestMillis = Double.NaN;
+
+    public FirstRequestTimer(MeterRegistry registry) {
+        TimeGauge.builder("application.first.request.time", this, TimeUnit.MILLISECONDS, timer -> timer.firstRequestMillis)
+                .description("Time from JVM start until the first HTTP request was served")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!recorded.get() && recorded.compareAndSet(false, true)) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                firstRequestMillis = uptime;
+                log.info("First request ({} {}) served {} ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), uptime);
+            }
+        }
+    }
+}
@@ -2,8 +2,20 @@ package com.siemens.internship;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableCaching
+@EnableAsync
+// ReactiveItemRepository belongs to R2DBC (see the "reactive" profile); keep JPA from claiming it
+@EnableJpaRepositories(excludeFilters = @ComponentScan.Filter(
+		type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveItemRepository.class))
 public class InternshipApplication {
 
 	public static void main(String[] args) {
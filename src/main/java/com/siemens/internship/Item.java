@@ -1,9 +1,15 @@
 package com.siemens.internship;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,15 +18,32 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.Instant;
+
+// Change:
+// Added (status, id) and (email, id) indexes backing the filtered keyset listing queries
+// Dynamic updates: Hibernate's UPDATE for a managed Item only lists the columns that actually changed
 @Entity
+@DynamicUpdate
+@Table(name = "item", indexes = {
+        @Index(name = "idx_item_status_id", columnList = "status, id"),
+        @Index(name = "idx_item_email_id", columnList = "email, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    // Change:
+    // Pooled sequence ids (one sequence call per 50 inserts) so Hibernate can batch INSERT statements
+    // The Spring Data @Id marks the same column for the R2DBC repository of the "reactive" profile
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     // Change:
@@ -40,4 +63,29 @@ public class Item {
     @NotBlank(message = "Email must not be blank")
     @Email(message = "Email should be valid")
     private String email;
-}
\ No newline at end of file
+
+    // Change:
+    // Optimistic-locking version, bumped on every write; exposed to clients as the item's ETag
+    // Never null: rows written outside JPA start at the column default, so the processor's version check always applies
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Change:
+    // Lease taken by the node currently processing this item (owner and expiry, see ItemBatchProcessor);
+    // only written by the processor's own SQL and never exposed through the API
+    @JsonIgnore
+    private String leaseOwner;
+
+    @JsonIgnore
+    private Instant leaseExpiresAt;
+
+    public Item(Long id, String name, String description, String status, String email) {
+        this(id, name, description, status, email, null);
+    }
+
+    public Item(Long id, String name, String description, String status, String email, Long version) {
+        this(id, name, description, status, email, version, null, null);
+    }
+}
@@ -0,0 +1,366 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chunked, set-based processing engine for Items.
+ *
+ * Walks the item table in keyset-paginated chunks ({@code WHERE id > :lastId ORDER BY id LIMIT :chunkSize}):
+ * - Each chunk is read with a single query.
+ * - The per-item work runs through the {@link ItemProcessingPipeline} stages; IO stages use the supplied executor.
+ * - The chunk is written back with a single JDBC batch update in its own transaction.
+ *
+ * Round trips therefore scale with the number of chunks instead of the number of rows.
+ *
+ * Runs are resumable and idempotent:
+ * - Only items whose status is not yet PROCESSED are selected, so re-running on a processed table is almost free.
+ * - The last id of every chunk is checkpointed (per node) in the same transaction as the chunk's write,
+ *   so a run that was cancelled or crashed resumes after the last written chunk.
+ * - A failing item is reported to the listener, recorded in the item_dead_letter table and skipped;
+ *   it does not abort the run.
+ *
+ * Several nodes can process the same table at once:
+ * - A chunk is claimed by setting lease_owner/lease_expires_at with a conditional UPDATE per row, which only
+ *   succeeds if no other node holds a live lease. Concurrent claims of one row serialize on its row lock and the
+ *   condition is re-checked, so exactly one node gets each item.
+ * - Leases are owned by one run (node id plus a random suffix) and renewed while it is going; the write-back only
+ *   touches rows the run still leases. Runs on one node are serialized, as they share the node's checkpoint.
+ * - Leases are released when the run ends. After a crash they expire, and the items become claimable again.
+ * - Lease times come from the database clock, so clock skew between nodes does not matter.
+ *
+ * Only one chunk is in flight at a time, so the number of pending futures is bounded by the chunk size.
+ */
+@Component
+public class ItemBatchProcessor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemBatchProcessor.class);
+
+    static final String PROCESSED = "PROCESSED";
+
+    static final String CHECKPOINT_NAME = "item-processing";
+
+    // Package-private for ItemIdScanBenchmark, which compares ways of reading this query's result
+    static final String SELECT_CANDIDATES =
+            "SELECT id FROM item WHERE id > ? AND (status IS NULL OR status <> ?)"
+                    + " AND (lease_owner IS NULL OR lease_expires_at < CURRENT_TIMESTAMP) ORDER BY id LIMIT ?";
+
+    private static final String CLAIM =
+            "UPDATE item SET lease_owner = ?, lease_expires_at = DATEADD(MILLISECOND, ?, CURRENT_TIMESTAMP)"
+                    + " WHERE id = ? AND (status IS NULL OR status <> ?)"
+                    + " AND (lease_owner IS NULL OR lease_expires_at < CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_CLAIMED =
+            "SELECT id, name, description, status, email, version FROM item"
+                    + " WHERE lease_owner = ? AND id > ? AND id <= ? ORDER BY id";
+
+    // Bumps the version like every other write, so ETags issued before processing no longer match.
+    // Only rows still leased by this run are written, in case a lease expired and another node took the item over,
+    // and only at the version that was read, so a client update made while the item was processed is not overwritten.
+    private static final String UPDATE_STATUS =
+            "UPDATE item SET status = ?, version = version + 1, lease_owner = NULL, lease_expires_at = NULL"
+                    + " WHERE id = ? AND lease_owner = ? AND version = ?";
+
+    private static final String RENEW_LEASES =
+            "UPDATE item SET lease_expires_at = DATEADD(MILLISECOND, ?, CURRENT_TIMESTAMP) WHERE lease_owner = ?";
+
+    private static final String RELEASE_LEASES =
+            "UPDATE item SET lease_owner = NULL, lease_expires_at = NULL WHERE lease_owner = ?";
+
+    private static final RowMapper<Item> ITEM_ROW_MAPPER = (rs, rowNum) -> new Item(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getString("status"),
+            rs.getString("email"),
+            rs.getLong("version"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ItemProcessingProperties properties;
+
+    @Autowired
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ItemProcessingMetrics metrics;
+
+    // Lazy: the stage executors are only created on the first processing run
+    @Autowired
+    @Lazy
+    private ItemProcessingPipeline pipeline;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterRepository;
+
+    @Autowired
+    private ItemEventBus eventBus;
+
+    private final ScheduledExecutorService leaseRenewal = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // One run per node at a time: the node's checkpoint is a single cursor, which concurrent runs would overwrite
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Processes every unprocessed item, chunk by chunk, starting after the last checkpoint.
+     * A run started while another one is going on this node waits for it to finish.
+     *
+     * @param executor executor the per-item work of a chunk is fanned out on
+     * @param listener receives written chunks and failed items, and can cancel the run
+     * @return total number of processed items
+     */
+    public long processAll(Executor executor, ItemProcessingListener listener) {
+        runLock.lock();
+        try {
+            return processAll(executor, listener, newLeaseOwner());
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private long processAll(Executor executor, ItemProcessingListener listener, String leaseOwner) {
+        String checkpointName = checkpointName();
+        long lastId = checkpointRepository.findById(checkpointName)
+                .map(ProcessingCheckpoint::getLastId)
+                .orElse(0L);
+        long processedCount = 0L;
+
+        long renewMillis = properties.getLease().getRenewInterval().toMillis();
+        ScheduledFuture<?> renewal = leaseRenewal.scheduleAtFixedRate(() -> renewLeases(leaseOwner),
+                renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            while (true) {
+                if (listener.isCancelled()) {
+                    return processedCount;
+                }
+                long[] candidates = readCandidateIds(lastId);
+                if (candidates.length == 0) {
+                    break;
+                }
+                long afterId = lastId;
+                lastId = candidates[candidates.length - 1];
+                List<Item> chunk = claimChunk(candidates, afterId, lastId, leaseOwner);
+                if (chunk.isEmpty()) {
+                    // Other nodes were faster for every item of this chunk
+                    continue;
+                }
+
+                long checkpoint = lastId;
+                List<DeadLetterItem> deadLetters = Collections.synchronizedList(new ArrayList<>());
+                ItemProcessingListener chunkListener = deadLettering(listener, deadLetters);
+                List<Item> written = metrics.chunkTimer().record(() ->
+                        writeChunk(processChunk(chunk, executor, chunkListener), deadLetters, checkpoint, leaseOwner));
+                evictFromCache(written);
+                if (!written.isEmpty()) {
+                    eventBus.publish(ItemEvent.ITEMS_PROCESSED, ItemEvent.ids(written.stream().map(Item::getId).toList()));
+                }
+                metrics.recordProcessed(written.size());
+                processedCount += written.size();
+                listener.onChunkProcessed(written);
+            }
+        } finally {
+            renewal.cancel(false);
+            // Items that failed in this run keep their lease until here, so other nodes do not retry them meanwhile
+            jdbcTemplate.update(RELEASE_LEASES, leaseOwner);
+        }
+
+        // Finished: the next run starts from the beginning again and retries the items that failed in this one
+        checkpointRepository.deleteById(checkpointName);
+        return processedCount;
+    }
+
+    /**
+     * Ids of the next chunk of unprocessed, unleased items after the given id.
+     * Read straight from the ResultSet into a primitive array, without a Long or list node per row.
+     */
+    long[] readCandidateIds(long afterId) {
+        int chunkSize = properties.getChunkSize();
+        return jdbcTemplate.query(SELECT_CANDIDATES, rs -> {
+            long[] ids = new long[chunkSize];
+            int count = 0;
+            while (rs.next()) {
+                ids[count++] = rs.getLong(1);
+            }
+            return count == chunkSize ? ids : Arrays.copyOf(ids, count);
+        }, afterId, PROCESSED, chunkSize);
+    }
+
+    // Checkpoints are per node: each node walks the table with its own cursor
+    String checkpointName() {
+        return CHECKPOINT_NAME + "@" + nodeId();
+    }
+
+    // Unique per run, so a run never releases or writes the leases of another one, or of this node's previous life
+    private String newLeaseOwner() {
+        return nodeId() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private String nodeId() {
+        String nodeId = properties.getLease().getNodeId();
+        if (nodeId != null && !nodeId.isBlank()) {
+            return nodeId;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    /*
+        Leases the candidates that are still unprocessed and not leased by another node, and reads them.
+        The claim is committed before processing starts, so the row locks are only held for this short transaction.
+    */
+    private List<Item> claimChunk(long[] candidates, long afterId, long lastId, String leaseOwner) {
+        long leaseMillis = properties.getLease().getDuration().toMillis();
+        TransientRetry retry = new TransientRetry(properties.getRetry());
+        return retry.execute(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(CLAIM, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, leaseOwner);
+                    ps.setLong(2, leaseMillis);
+                    ps.setLong(3, candidates[i]);
+                    ps.setString(4, PROCESSED);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return candidates.length;
+                }
+            });
+            return jdbcTemplate.query(SELECT_CLAIMED, ITEM_ROW_MAPPER, leaseOwner, afterId, lastId);
+        }));
+    }
+
+    // Keeps the leases of long-running chunks alive; a failed renewal is retried at the next interval
+    private void renewLeases(String leaseOwner) {
+        try {
+            jdbcTemplate.update(RENEW_LEASES, properties.getLease().getDuration().toMillis(), leaseOwner);
+        } catch (DataAccessException e) {
+            log.warn("Could not renew the item leases of {}", leaseOwner, e);
+        }
+    }
+
+    // Runs the chunk through the processing pipeline and marks the surviving items; failed items are left out
+    private List<Item> processChunk(List<Item> chunk, Executor executor, ItemProcessingListener listener) {
+        List<Item> processed = pipeline.process(chunk, executor, listener);
+        processed.forEach(item -> item.setStatus(PROCESSED));
+        return processed;
+    }
+
+    // Records every failed item of the chunk as a dead letter, in addition to reporting it to the run's listener
+    private static ItemProcessingListener deadLettering(ItemProcessingListener listener, List<DeadLetterItem> deadLetters) {
+        return new ItemProcessingListener() {
+            @Override
+            public boolean isCancelled() {
+                return listener.isCancelled();
+            }
+
+            @Override
+            public void onChunkProcessed(List<Item> items) {
+                listener.onChunkProcessed(items);
+            }
+
+            @Override
+            public void onItemFailed(Item item, Throwable error) {
+                deadLetters.add(DeadLetterItem.of(item, error));
+                listener.onItemFailed(item, error);
+            }
+        };
+    }
+
+    // The batch UPDATE bypasses ItemService, so cached copies of the written items are stale
+    private void evictFromCache(List<Item> items) {
+        Cache cache = cacheManager.getCache(ItemService.ITEMS_CACHE);
+        if (cache != null) {
+            items.forEach(item -> cache.evict(item.getId()));
+        }
+    }
+
+    /*
+        Writes the chunk back with one batch UPDATE, records its dead letters and moves the checkpoint, atomically.
+        The transaction is retried on transient database errors.
+        Rows deleted or updated in the meantime, or whose lease was taken over by another node, are left out of the result
+        and counted as conflicts.
+    */
+    private List<Item> writeChunk(List<Item> items, List<DeadLetterItem> deadLetters, long checkpoint, String leaseOwner) {
+        TransientRetry retry = new TransientRetry(properties.getRetry());
+        int[] updateCounts = retry.execute(() -> transactionTemplate.execute(status -> {
+            checkpointRepository.save(new ProcessingCheckpoint(checkpointName(), checkpoint, Instant.now()));
+            if (!deadLetters.isEmpty()) {
+                deadLetterRepository.saveAll(List.copyOf(deadLetters));
+            }
+            if (items.isEmpty()) {
+                return new int[0];
+            }
+            return jdbcTemplate.batchUpdate(UPDATE_STATUS, items, items.size(), (ps, item) -> {
+                ps.setString(1, item.getStatus());
+                ps.setLong(2, item.getId());
+                ps.setString(3, leaseOwner);
+                ps.setLong(4, item.getVersion());
+            })[0];
+        }));
+
+        List<Item> written = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            if (updateCounts != null && updateCounts[i] != 0) {
+                Item item = items.get(i);
+                item.setVersion(item.getVersion() + 1);
+                written.add(item);
+            }
+        }
+        // Each of the others was deleted, updated or taken over since it was read: a conflict, retried by the next run
+        int conflicts = items.size() - written.size();
+        if (conflicts > 0) {
+            log.debug("{} items of the chunk ending at id {} changed while they were processed", conflicts, checkpoint);
+            metrics.recordConflicts(conflicts);
+        }
+        return written;
+    }
+
+    @Override
+    public void destroy() {
+        leaseRenewal.shutdownNow();
+    }
+}
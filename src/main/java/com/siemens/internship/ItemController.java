@@ -1,25 +1,220 @@
 package com.siemens.internship;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.siemens.internship.exceptions.BulkValidationException;
+import com.siemens.internship.exceptions.ItemVersionConflictException;
+import com.siemens.internship.exceptions.UnsupportedParametersException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/items")
 public class ItemController {
 
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    // Search results are ranked in memory, so deep pages are capped
+    static final int MAX_SEARCH_OFFSET = 10_000;
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    // List parameters honoured by the paged variants only
+    static final List<String> PAGE_PARAMETERS = List.of("limit", "after", "status", "email", "fields");
+
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ProcessingJobService processingJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ItemEventBus eventBus;
+
+    /*
+        Change:
+            - Added keyset pagination (limit/after) and filtering by status and email.
+            - Without any of these parameters the full list is returned, as before.
+            - With any of them, at most `limit` items with id > `after` are returned (default limit 100, max 1000).
+              When the page is full, a Link header with rel="next" carries the cursor for the following page.
+    */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
+    public ResponseEntity<List<Item>> getAllItems(@RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+                                                  @RequestParam(required = false) @Min(0) Long after,
+                                                  @RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String email) {
+        if (limit == null && after == null && status == null && email == null) {
+            return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        List<Item> page = itemService.findPage(after != null ? after : 0L, pageSize, status, email);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (page.size() == pageSize) {
+            addNextLink(headers, page.get(page.size() - 1).getId(), pageSize);
+        }
+        return new ResponseEntity<>(page, headers, HttpStatus.OK);
+    }
+
+    /*
+        Sparse fieldsets: GET /api/items?fields=id,name,status returns only the listed fields of each item,
+        and only those columns are read from the database. The id is always included, as it is the page cursor.
+        Combines with the same pagination and filter parameters as the full list.
+    */
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> getItemFields(@RequestParam String fields,
+                                           @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+                                           @RequestParam(required = false) @Min(0) Long after,
+                                           @RequestParam(required = false) String status,
+                                           @RequestParam(required = false) String email) {
+        List<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        if (selected.isEmpty()) {
+            return new ResponseEntity<>(Map.of("fields", "At least one field must be given"), HttpStatus.BAD_REQUEST);
+        }
+        List<String> unknown = selected.stream().filter(field -> !ItemService.SELECTABLE_FIELDS.contains(field)).toList();
+        if (!unknown.isEmpty()) {
+            return new ResponseEntity<>(Map.of("fields", "Unknown fields: " + String.join(",", unknown)),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        boolean paged = limit != null || after != null || status != null || email != null;
+        Integer pageSize = paged ? (limit != null ? limit : DEFAULT_PAGE_SIZE) : null;
+        List<Map<String, Object>> page = itemService.findFields(selected, after != null ? after : 0L, pageSize, status, email);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (pageSize != null && page.size() == pageSize) {
+            addNextLink(headers, (Long) page.get(page.size() - 1).get("id"), pageSize);
+        }
+        return new ResponseEntity<>(page, headers, HttpStatus.OK);
+    }
+
+    private static void addNextLink(HttpHeaders headers, Long lastId, int pageSize) {
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", lastId)
+                .replaceQueryParam("limit", pageSize)
+                .build().toUriString();
+        headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+
+    /*
+        Streaming variants of GET /api/items:
+            - Accept: application/x-ndjson writes one JSON document per line.
+            - ?stream=true writes a regular JSON array, chunked as it is produced.
+        Items are read through a database cursor and serialized one at a time, so memory stays flat at any row count.
+        Both always write the whole table: combined with pagination, filter or fields parameters they answer
+        400 Bad Request instead of silently returning other rows than the same query without streaming.
+    */
+    @GetMapping(produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemsAsNdjson(
+            @RequestParam MultiValueMap<String, String> parameters) {
+        rejectPageParameters(parameters);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(out -> writeItems(out, false));
+    }
+
+    @GetMapping(params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemsAsJsonArray(
+            @RequestParam MultiValueMap<String, String> parameters) {
+        rejectPageParameters(parameters);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> writeItems(out, true));
+    }
+
+    /*
+        fields=... with Accept: application/x-ndjson. The params condition would route it to getItemFields, which only
+        writes JSON, so it would answer 406 Not Acceptable; this says why instead. Streamed lists are not projected.
+    */
+    @GetMapping(params = "fields", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemFieldsAsNdjson(
+            @RequestParam MultiValueMap<String, String> parameters) {
+        // fields is one of the PAGE_PARAMETERS, so this always rejects the request, listing every page parameter given
+        rejectPageParameters(parameters);
+        throw new IllegalStateException("Unreachable");
+    }
+
+    static void rejectPageParameters(MultiValueMap<String, String> parameters) {
+        List<String> given = PAGE_PARAMETERS.stream().filter(parameters::containsKey).toList();
+        if (!given.isEmpty()) {
+            throw new UnsupportedParametersException("Streamed lists", given);
+        }
+    }
+
+    private void writeItems(OutputStream out, boolean asArray) throws IOException {
+        // Flushing after every item would turn each row into a separate write to the socket
+        ObjectWriter itemWriter = objectMapper.writerFor(Item.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            if (asArray) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            }
+            itemService.forEachItem(item -> {
+                try {
+                    itemWriter.writeValue(generator, item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (asArray) {
+                generator.writeEndArray();
+            } else {
+                generator.writeRaw('\n');
+            }
+        }
     }
 
     /*
@@ -30,14 +225,73 @@ public class ItemController {
     */
     @PostMapping
     public ResponseEntity<?> createItem(@Valid @RequestBody Item item) {
+        // POST always creates: client-supplied ids and versions are ignored
+        item.setId(null);
+        item.setVersion(null);
         Item savedItem = itemService.save(item);
         return new ResponseEntity<>(savedItem, HttpStatus.CREATED);
     }
 
+    // Hit/miss/eviction counts of the findById cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        CacheStats stats = itemService.cacheStats();
+        return new ResponseEntity<>(Map.of(
+                "hitCount", stats.hitCount(),
+                "missCount", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictionCount", stats.evictionCount()), HttpStatus.OK);
+    }
+
+    /*
+        Change-data stream (Server-Sent Events) of item changes and processing progress, instead of polling the list:
+            - item.created carries the item; item.updated / item.deleted and the coalesced bulk and
+              processing events (items.*) carry only ids, which clients re-read cheaply with If-None-Match.
+            - job.progress carries the state of a running processing job.
+            - Reconnecting clients send Last-Event-ID and receive what they missed, or a reset event
+              if it is no longer buffered. Clients that cannot keep up are disconnected.
+    */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return eventBus.subscribe(lastEventId);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    /*
+        Full-text search over name and description:
+            - Items containing every word of q are returned, best match first (words in the name weigh more).
+            - Paginated with offset/limit; the total number of matches is returned in the X-Total-Count header.
+    */
+    @GetMapping("/search")
+    public ResponseEntity<List<Item>> searchItems(@RequestParam @NotBlank String q,
+                                                  @RequestParam(defaultValue = "0") @Min(0) @Max(MAX_SEARCH_OFFSET) int offset,
+                                                  @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        ItemService.SearchPage page = itemService.search(q, offset, limit);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, Integer.toString(page.total()));
+        return new ResponseEntity<>(page.items(), headers, HttpStatus.OK);
+    }
+
+    // Most recent items that failed processing for good (error, timeout or exhausted retries)
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterItem>> getDeadLetters(
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) Long itemId) {
+        return new ResponseEntity<>(itemService.findDeadLetters(itemId, limit), HttpStatus.OK);
+    }
+
+    /*
+        Change:
+            - The item's version is returned as its ETag; a matching If-None-Match is answered
+              with 304 Not Modified and no body by Spring MVC's ResponseEntity handling
+    */
     @GetMapping("/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
         return itemService.findById(id)
-                .map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                .map(item -> ResponseEntity.ok().eTag(etagOf(item)).body(item))
                 .orElse(new ResponseEntity<>(HttpStatus.NO_CONTENT));
     }
 
@@ -47,14 +301,15 @@ public class ItemController {
             - Added validation to @RequestBody
             - Corrected status code on update to 200 OK instead of 201 Created
             - Return 404 Not Found with a message if item doesn't exist
+            - Existence check and write are one conditional UPDATE instead of findById + blind save
+            - Optional If-Match: 412 Precondition Failed if the item was modified since that ETag was issued
     */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item) {
-        Optional<Item> existingItem = itemService.findById(id);
-        if (existingItem.isPresent()) {
-            item.setId(id);
-            Item updatedItem = itemService.save(item);
-            return new ResponseEntity<>(updatedItem, HttpStatus.OK);
+    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Item> updatedItem = itemService.update(id, item, expectedVersion(id, ifMatch));
+        if (updatedItem.isPresent()) {
+            return ResponseEntity.ok().eTag(etagOf(updatedItem.get())).body(updatedItem.get());
         } else {
             return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
         }
@@ -66,12 +321,13 @@ public class ItemController {
             - Added check if item exists before delete
             - Return 204 No Content on successful delete
             - Return 404 Not Found if the item doesn't exist
+            - Existence check and delete are one conditional DELETE
+            - Optional If-Match: 412 Precondition Failed if the item was modified since that ETag was issued
     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteItem(@PathVariable Long id) {
-        Optional<Item> item = itemService.findById(id);
-        if (item.isPresent()) {
-            itemService.deleteById(id);
+    public ResponseEntity<?> deleteItem(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (itemService.delete(id, expectedVersion(id, ifMatch))) {
             return new ResponseEntity<>("Item deleted successfully", HttpStatus.NO_CONTENT);
         } else {
             return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
@@ -79,19 +335,215 @@ public class ItemController {
     }
 
     /*
-    Change:
-        - The service method processItemsAsync() was refactored to return CompletableFuture<List<Item>> for proper async behavior.
-        - Updated the controller to call .get() on the CompletableFuture to block and retrieve the processed result.
-        - This ensures that the controller still returns a synchronous ResponseEntity<List<Item>> to the client.
-        - Added try-catch to handle any potential exceptions during async processing and return 500 Internal Server Error if needed.
+        Partial update with JSON Merge Patch (RFC 7396) semantics:
+            - Only the fields present in the body are changed; an explicit null clears the field.
+            - Each given value is validated against the constraints of its Item field; id and version are read-only.
+            - Written with one UPDATE that sets only those columns, without reading the row first,
+              so the response is 204 No Content (with the new ETag when If-Match made it known).
     */
-    @GetMapping("/process")
-    public ResponseEntity<List<Item>> processItems() {
-        try {
-            List<Item> result = itemService.processItemsAsync().get();
-            return new ResponseEntity<>(result, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchItem(@PathVariable Long id, @RequestBody JsonNode patch,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!patch.isObject()) {
+            return new ResponseEntity<>(Map.of("error", "Merge patch must be a JSON object"), HttpStatus.BAD_REQUEST);
+        }
+        Map<String, String> changes = new LinkedHashMap<>();
+        Map<String, String> errors = new HashMap<>();
+        patch.fields().forEachRemaining(field -> {
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if (!ItemService.PATCHABLE_FIELDS.contains(name)) {
+                errors.put(name, "Unknown or read-only field");
+            } else if (!value.isNull() && !value.isTextual()) {
+                errors.put(name, "Must be a string or null");
+            } else {
+                String text = value.isNull() ? null : value.textValue();
+                validator.validateValue(Item.class, name, text).forEach(violation ->
+                        errors.put(name, violation.getMessage()));
+                changes.put(name, text);
+            }
+        });
+        if (!errors.isEmpty()) {
+            return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+        }
+
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (!itemService.patch(id, changes, expectedVersion)) {
+            return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
+        }
+        return writtenResponse(changes.isEmpty() ? expectedVersion : nextVersion(expectedVersion));
+    }
+
+    // Status-only update, e.g. {"status": "PROCESSED"}: a single narrow UPDATE of the status column
+    @PutMapping(value = "/{id}/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> updateItemStatus(@PathVariable Long id, @RequestBody Map<String, String> body,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!body.containsKey("status")) {
+            return new ResponseEntity<>(Map.of("status", "Status must be provided"), HttpStatus.BAD_REQUEST);
+        }
+        Long expectedVersion = expectedVersion(id, ifMatch);
+        if (!itemService.updateStatus(id, body.get("status"), expectedVersion)) {
+            return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
+        }
+        return writtenResponse(nextVersion(expectedVersion));
+    }
+
+    private static Long nextVersion(Long expectedVersion) {
+        return expectedVersion == null ? null : expectedVersion + 1;
+    }
+
+    private static ResponseEntity<?> writtenResponse(Long version) {
+        if (version == null) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
+        return ResponseEntity.noContent().eTag("\"" + version + "\"").build();
+    }
+
+    static String etagOf(Item item) {
+        return "\"" + item.getVersion() + "\"";
+    }
+
+    /*
+        Versions named by an If-Match header, a list of entity tags; null when absent or "*" (any current version
+        matches). If-Match uses strong comparison, so weak tags never match, nor do tags this API did not issue.
+        When no tag can match the request fails with 412 right away.
+    */
+    static List<Long> ifMatchVersions(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (ETag tag : ETag.parse(ifMatch)) {
+            if (tag.isWildcard()) {
+                return null;
+            }
+            if (!tag.weak()) {
+                try {
+                    versions.add(Long.valueOf(tag.tag()));
+                } catch (NumberFormatException e) {
+                    // Not an ETag this API issued
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new ItemVersionConflictException(id);
+        }
+        return versions;
+    }
+
+    /*
+        Version a conditional write must find, from If-Match; null for an unconditional write.
+        With several tags the item's current version is read first; the write itself still checks it,
+        so an item changed in between is answered with 412.
+    */
+    private Long expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = ifMatchVersions(id, ifMatch);
+        if (versions == null || versions.size() == 1) {
+            return versions == null ? null : versions.get(0);
+        }
+        return itemService.findVersion(id)
+                .map(current -> {
+                    if (!versions.contains(current)) {
+                        throw new ItemVersionConflictException(id);
+                    }
+                    return current;
+                })
+                // Missing item: any of them, the write then answers 404
+                .orElse(versions.get(0));
+    }
+
+    /*
+        Bulk endpoints:
+            - Accept a JSON array or an NDJSON stream (one item per line).
+            - Every element is validated; if any is invalid (or null, or an update repeats an id) nothing is written
+              and 400 Bad Request lists the field errors per element index.
+            - All writes of a request run in one transaction and are sent as JDBC batches.
+    */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Item>> createItems(@RequestBody List<Item> items) {
+        validateEach(items, false);
+        return new ResponseEntity<>(itemService.saveAll(items), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/bulk", consumes = NDJSON_VALUE)
+    public ResponseEntity<List<Item>> createItemsFromNdjson(InputStream body) throws IOException {
+        return createItems(readNdjson(body));
+    }
+
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Item>> updateItems(@RequestBody List<Item> items) {
+        validateEach(items, true);
+        return new ResponseEntity<>(itemService.updateAll(items), HttpStatus.OK);
+    }
+
+    @PutMapping(value = "/bulk", consumes = NDJSON_VALUE)
+    public ResponseEntity<List<Item>> updateItemsFromNdjson(InputStream body) throws IOException {
+        return updateItems(readNdjson(body));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteItems(@RequestBody List<Long> ids) {
+        itemService.deleteAllById(ids);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    private List<Item> readNdjson(InputStream body) throws IOException {
+        try (MappingIterator<Item> iterator = objectMapper.readerFor(Item.class).readValues(body)) {
+            return iterator.readAll();
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed NDJSON body", e);
+        }
+    }
+
+    private void validateEach(List<Item> items, boolean requireId) {
+        Map<Integer, Map<String, String>> errors = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item == null) {
+                errors.put(i, Map.of("item", "must not be null"));
+                continue;
+            }
+            Map<String, String> itemErrors = new HashMap<>();
+            validator.validate(item).forEach(violation ->
+                    itemErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+            if (requireId && item.getId() == null) {
+                itemErrors.put("id", "Id must not be null");
+            }
+            if (!itemErrors.isEmpty()) {
+                errors.put(i, itemErrors);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+    }
+
+    /*
+    Change:
+        - Processing no longer blocks the request thread: POST starts a background job and returns 202 Accepted
+          with the job handle and its Location right away.
+        - Progress, counts and duration are polled with GET /process/{jobId}; DELETE requests cancellation.
+        - Unknown job ids return 404 Not Found.
+    */
+    @PostMapping("/process")
+    public ResponseEntity<ProcessingJob> processItems() {
+        ProcessingJob job = processingJobService.start();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/process/{jobId}")
+    public ResponseEntity<?> getProcessingJob(@PathVariable String jobId) {
+        return processingJobService.find(jobId)
+                .<ResponseEntity<?>>map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>("Job not found", HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/process/{jobId}")
+    public ResponseEntity<?> cancelProcessingJob(@PathVariable String jobId) {
+        return processingJobService.cancel(jobId)
+                .<ResponseEntity<?>>map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                .orElse(new ResponseEntity<>("Job not found", HttpStatus.NOT_FOUND));
     }
 }
@@ -0,0 +1,31 @@
+package com.siemens.internship;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One change published on the {@link ItemEventBus}.
+ *
+ * @param id   position in the stream, strictly increasing; sent as the SSE id and used for Last-Event-ID resumption
+ * @param type SSE event name, e.g. item.updated
+ * @param data event payload as JSON, serialized when the event was published, so replays show the state of that moment
+ */
+public record ItemEvent(long id, String type, Instant timestamp, String data) {
+
+    public static final String ITEM_CREATED = "item.created";
+    public static final String ITEM_UPDATED = "item.updated";
+    public static final String ITEM_DELETED = "item.deleted";
+    // Bulk changes and processing are coalesced into one event per request or chunk, carrying only the ids
+    public static final String ITEMS_CREATED = "items.created";
+    public static final String ITEMS_UPDATED = "items.updated";
+    public static final String ITEMS_DELETED = "items.deleted";
+    public static final String ITEMS_PROCESSED = "items.processed";
+    public static final String JOB_PROGRESS = "job.progress";
+    // Sent to a resuming client whose Last-Event-ID is no longer buffered: it must reload its state
+    public static final String RESET = "reset";
+
+    static Map<String, Object> ids(List<Long> ids) {
+        return Map.of("ids", ids);
+    }
+}
@@ -0,0 +1,256 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus of item change events, streamed to clients as Server-Sent Events.
+ *
+ * - Published events go into a fixed-size ring buffer; that buffer is the only place events are held,
+ *   so memory does not grow with the number of subscribers or how slow they are.
+ * - Event data is serialized to JSON when it is published, not when it is sent: mutable payloads such as a running
+ *   {@link ProcessingJob} are replayed as they were then, and each event is serialized once for all subscribers.
+ * - Each subscriber only keeps a cursor into the buffer. Its events are sent by a dispatcher thread,
+ *   so publishers never wait for a client.
+ * - A subscriber that falls more than a buffer's worth of events behind is disconnected. It can reconnect with
+ *   Last-Event-ID and resumes, or gets a reset event if its position is no longer buffered.
+ * - Events published inside a transaction are only published once it commits.
+ */
+@Component
+public class ItemEventBus implements DisposableBean {
+
+    // Events sent per dispatcher pass, so one subscriber's backlog does not monopolize a thread
+    private static final int MAX_EVENTS_PER_SEND = 256;
+
+    private final ItemEventProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ItemEvent[] buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Open streams, including ones still being set up; reserved before a stream is opened, so the limit is exact
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter droppedSubscribers;
+
+    private final ExecutorService dispatcher;
+
+    // Guarded by this: id of the last published event (0 = none yet)
+    private long lastId;
+
+    public ItemEventBus(ItemEventProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buffer = new ItemEvent[Math.max(1, properties.getBufferSize())];
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.dispatcher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "item-events-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("items.events.subscribers", subscribers, Set::size)
+                .description("Open item event streams")
+                .register(registry);
+        this.droppedSubscribers = Counter.builder("items.events.dropped")
+                .description("Event streams disconnected because the client could not keep up")
+                .register(registry);
+    }
+
+    // Publishes the event now, or after the current transaction commits (and not at all if it rolls back)
+    public void publish(String type, Object data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type + " event data", e);
+        }
+        AfterCommit.run(() -> append(type, json));
+    }
+
+    private void append(String type, String data) {
+        synchronized (this) {
+            lastId++;
+            buffer[slot(lastId)] = new ItemEvent(lastId, type, Instant.now(), data);
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Opens an event stream.
+     *
+     * @param lastEventId Last-Event-ID sent by a reconnecting client, or null to receive only new events
+     * @throws RejectedExecutionException if the maximum number of streams is already open
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(properties.getStreamTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        if (openStreams.incrementAndGet() > properties.getMaxSubscribers()) {
+            openStreams.decrementAndGet();
+            throw new RejectedExecutionException("Too many open event streams");
+        }
+        long cursor;
+        boolean reset = false;
+        synchronized (this) {
+            cursor = lastEventId == null ? lastId : Math.min(lastEventId, lastId);
+            if (cursor < oldestId() - 1) {
+                // The client missed events that are no longer buffered
+                cursor = oldestId() - 1;
+                reset = true;
+            }
+        }
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(subscriber::release);
+        emitter.onTimeout(subscriber::release);
+        emitter.onError(error -> subscriber.release());
+        if (reset) {
+            subscriber.sendReset();
+        }
+        // Events published since the cursor was taken are picked up by this first schedule
+        subscribers.add(subscriber);
+        if (subscriber.closed) {
+            // The reset could not be sent
+            subscriber.release();
+            return emitter;
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Buffered events after the given id; null if some of them have already been overwritten
+    private synchronized List<ItemEvent> eventsAfter(long cursor) {
+        if (cursor < oldestId() - 1) {
+            return null;
+        }
+        long last = Math.min(lastId, cursor + MAX_EVENTS_PER_SEND);
+        List<ItemEvent> events = new ArrayList<>((int) (last - cursor));
+        for (long id = cursor + 1; id <= last; id++) {
+            events.add(buffer[slot(id)]);
+        }
+        return events;
+    }
+
+    private synchronized boolean hasEventsAfter(long cursor) {
+        return lastId > cursor;
+    }
+
+    private long oldestId() {
+        return Math.max(1, lastId - buffer.length + 1);
+    }
+
+    private int slot(long id) {
+        return (int) ((id - 1) % buffer.length);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        // At most one send task per subscriber is queued or running, however many events are published
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    List<ItemEvent> events = eventsAfter(cursor);
+                    if (events == null) {
+                        // The buffer wrapped past this subscriber: it cannot keep up
+                        droppedSubscribers.increment();
+                        close();
+                        return;
+                    }
+                    if (events.isEmpty()) {
+                        break;
+                    }
+                    for (ItemEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.id()))
+                                .name(event.type())
+                                .data(event.data(), MediaType.APPLICATION_JSON));
+                        cursor = event.id();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, or the stream was already completed
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Events published while the last pass was finishing
+            if (hasEventsAfter(cursor)) {
+                schedule();
+            }
+        }
+
+        private void sendReset() {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(cursor))
+                        .name(ItemEvent.RESET)
+                        .data(Map.of("oldestEventId", cursor + 1), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            release();
+            emitter.complete();
+        }
+
+        // Gives back the stream's slot; called once per way the stream can end, so only the first call counts
+        private void release() {
+            subscribers.remove(this);
+            if (released.compareAndSet(false, true)) {
+                openStreams.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the item change event stream, bound from {@code items.events.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.events")
+public class ItemEventProperties {
+
+    // Events kept for Last-Event-ID resumption; a subscriber that falls further behind is disconnected
+    private int bufferSize = 1024;
+
+    // Open event streams allowed at the same time
+    private int maxSubscribers = 100;
+
+    // An event stream is closed after this time; EventSource clients reconnect and resume with Last-Event-ID
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
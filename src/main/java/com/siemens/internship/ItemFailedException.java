@@ -0,0 +1,27 @@
+package com.siemens.internship;
+
+// Final failure of an item in a pipeline stage, after all attempts; the cause is the error of the last attempt
+public class ItemFailedException extends RuntimeException {
+
+    private final String stage;
+    private final int attempts;
+
+    public ItemFailedException(String stage, int attempts, Throwable cause) {
+        super(stage + " failed after " + attempts + (attempts == 1 ? " attempt: " : " attempts: ") + describe(cause),
+                cause);
+        this.stage = stage;
+        this.attempts = attempts;
+    }
+
+    private static String describe(Throwable cause) {
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,156 @@
+package com.siemens.internship;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spring-managed executor for per-item processing work.
+ *
+ * - FIXED mode runs tasks on a fixed pool of platform threads.
+ * - VIRTUAL mode starts one virtual thread per task (requires Java 21+, falls back to FIXED otherwise).
+ * - In both modes a semaphore caps the number of items running at once; by default it is sized to the
+ *   Hikari connection pool, since that is what blocking processing ultimately waits on.
+ * - Submissions are admission-controlled: at most maxConcurrency + queueCapacity items are in flight (running or
+ *   waiting). When that is reached the submitter blocks, or the item is rejected, depending on the overflow policy.
+ * - The executor drains in-flight items and shuts down together with the application context.
+ * - It is created lazily, on the first processing run (or metrics scrape), so it does not add to startup time.
+ */
+@Component
+@Lazy
+public class ItemProcessingExecutor implements Executor, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemProcessingExecutor.class);
+
+    private static final String THREAD_NAME_PREFIX = "item-processing-";
+
+    private final ItemProcessingProperties properties;
+    private final Executor delegate;
+    private final ThreadPoolExecutor pool;
+    private final Semaphore permits;
+    private final Semaphore admission;
+    private final int maxConcurrency;
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    public ItemProcessingExecutor(ItemProcessingProperties properties, DataSource dataSource) {
+        this.properties = properties;
+        this.maxConcurrency = resolveMaxConcurrency(properties, dataSource);
+        this.permits = new Semaphore(maxConcurrency);
+        this.admission = new Semaphore(maxConcurrency + properties.getQueueCapacity());
+
+        if (properties.getExecutorMode() == ItemProcessingProperties.ExecutorMode.VIRTUAL
+                && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            this.pool = null;
+            this.delegate = new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX);
+        } else {
+            if (properties.getExecutorMode() == ItemProcessingProperties.ExecutorMode.VIRTUAL) {
+                log.warn("Virtual threads require Java 21+, falling back to a fixed pool of {} threads",
+                        properties.getPoolSize());
+            }
+            AtomicInteger threadCounter = new AtomicInteger();
+            this.pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(properties.getPoolSize(),
+                    runnable -> new Thread(runnable, THREAD_NAME_PREFIX + threadCounter.incrementAndGet()));
+            this.delegate = pool;
+        }
+    }
+
+    private static int resolveMaxConcurrency(ItemProcessingProperties properties, DataSource dataSource) {
+        if (properties.getMaxConcurrency() > 0) {
+            if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0
+                    && properties.getMaxConcurrency() > hikari.getMaximumPoolSize()) {
+                log.warn("items.processing.max-concurrency={} exceeds the {} connections of the pool;"
+                        + " the extra items only wait for a connection", properties.getMaxConcurrency(),
+                        hikari.getMaximumPoolSize());
+            }
+            return properties.getMaxConcurrency();
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return properties.getPoolSize();
+    }
+
+    /*
+        The permit is taken inside the task rather than at submission:
+        in VIRTUAL mode waiting tasks are parked virtual threads, which are cheap.
+        The wrapped task must always run, otherwise a CompletableFuture built on top of it would never complete.
+    */
+    @Override
+    public void execute(Runnable task) {
+        admit();
+        try {
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                activeCount.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    permits.release();
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            throw e;
+        }
+    }
+
+    // Bounds the items in flight, so memory stays bounded however many items are submitted
+    private void admit() {
+        if (properties.getOverflowPolicy() == ItemProcessingProperties.OverflowPolicy.REJECT) {
+            if (!admission.tryAcquire()) {
+                throw new RejectedExecutionException("Item processing queue is full");
+            }
+            return;
+        }
+        try {
+            admission.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for processing capacity", e);
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    // Tasks submitted but not yet running: waiting for a pool thread or for a concurrency permit
+    public int getQueuedCount() {
+        int waitingForThread = pool != null ? pool.getQueue().size() : 0;
+        return waitingForThread + permits.getQueueLength();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        long timeoutMillis = properties.getShutdownTimeout().toMillis();
+        if (pool != null) {
+            pool.shutdown();
+            if (!pool.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+            }
+        } else if (!permits.tryAcquire(maxConcurrency, timeoutMillis, TimeUnit.MILLISECONDS)) {
+            // Virtual threads are daemon threads and die with the JVM; we only wait for them here
+            log.warn("{} items were still in flight when the processing executor shut down", activeCount.get());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship;
+
+import java.util.List;
+
+/**
+ * Callbacks of a processing run.
+ * Failures are reported from the processing threads, so implementations must be thread-safe.
+ */
+public interface ItemProcessingListener {
+
+    // Checked before every chunk; the run stops (keeping its checkpoint) once this returns true
+    default boolean isCancelled() {
+        return false;
+    }
+
+    // Items of one chunk that were successfully written back
+    void onChunkProcessed(List<Item> items);
+
+    // An item whose processing failed; it keeps its status and is picked up again by a later run
+    default void onItemFailed(Item item, Throwable error) {
+    }
+}
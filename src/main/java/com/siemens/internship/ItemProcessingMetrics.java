@@ -0,0 +1,98 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the item processing engine, published through Actuator.
+ *
+ * - items.processed: counter of items written back (rate = items processed per second)
+ * - items.processing.item: time an item spends in the processing pipeline
+ * - items.processing.stage: per-item processing time of each pipeline stage, tagged by stage
+ * - items.processing.chunk: time to read, process and write back one chunk
+ * - items.processing.failures: failed items, tagged by exception type
+ * - items.processing.retries: retried attempts after transient errors, tagged by stage
+ * - items.processing.conflicts: processed items not written back because they changed meanwhile, left for the next run
+ * - items.processing.shed: items rejected by the executor's admission control, left for the next run
+ * - items.processing.executor.*: active/queued tasks and the concurrency limit of the processing executor
+ */
+@Component
+public class ItemProcessingMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter processedItems;
+    private final Timer itemTimer;
+    private final Timer chunkTimer;
+
+    /*
+        The executor is a lazy proxy: it is created on the first processing run or gauge read, not at startup.
+        Gauges only hold their object weakly, and nothing else references the proxy, hence strongReference.
+    */
+    public ItemProcessingMetrics(MeterRegistry registry, @Lazy ItemProcessingExecutor executor) {
+        this.registry = registry;
+        this.processedItems = Counter.builder("items.processed")
+                .description("Items processed and written back")
+                .register(registry);
+        this.itemTimer = Timer.builder("items.processing.item")
+                .description("Time a single item spends in the processing pipeline")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.chunkTimer = Timer.builder("items.processing.chunk")
+                .description("Time to read, process and write back one chunk")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        Gauge.builder("items.processing.executor.active", executor, ItemProcessingExecutor::getActiveCount)
+                .strongReference(true)
+                .description("Items currently being processed")
+                .register(registry);
+        Gauge.builder("items.processing.executor.queued", executor, ItemProcessingExecutor::getQueuedCount)
+                .strongReference(true)
+                .description("Items waiting for a thread or a concurrency permit")
+                .register(registry);
+        Gauge.builder("items.processing.executor.max", executor, ItemProcessingExecutor::getMaxConcurrency)
+                .strongReference(true)
+                .description("Maximum number of items processed at the same time")
+                .register(registry);
+    }
+
+    public Timer itemTimer() {
+        return itemTimer;
+    }
+
+    public Timer chunkTimer() {
+        return chunkTimer;
+    }
+
+    public Timer stageTimer(String stage) {
+        return Timer.builder("items.processing.stage")
+                .description("Processing time of a single item in one pipeline stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordProcessed(int count) {
+        processedItems.increment(count);
+    }
+
+    public void recordRetry(String stage) {
+        registry.counter("items.processing.retries", "stage", stage).increment();
+    }
+
+    public void recordConflicts(int count) {
+        registry.counter("items.processing.conflicts").increment(count);
+    }
+
+    public void recordShed() {
+        registry.counter("items.processing.shed").increment();
+    }
+
+    public void recordFailure(Throwable failure) {
+        registry.counter("items.processing.failures", "exception", failure.getClass().getSimpleName()).increment();
+    }
+}
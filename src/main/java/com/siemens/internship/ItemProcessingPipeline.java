@@ -0,0 +1,349 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs items through the chain of {@link ItemProcessor} stages.
+ *
+ * - Each stage has its own executor: CPU stages a dedicated fork-join pool, IO stages the item processing
+ *   executor (virtual threads or a fixed pool), optionally capped by items.processing.stages.<name>.concurrency.
+ * - A chunk is split into hand-off batches. A batch moves to the next stage as soon as all of its items have
+ *   passed the current one, so the stages work on different batches at the same time and a slow stage only
+ *   delays the batches waiting for it.
+ * - Every stage is timed per item (items.processing.stage, tagged by stage).
+ * - Every attempt is bounded by items.processing.item-timeout, and transient database errors are retried with
+ *   jittered backoff, so a chunk always completes in bounded time. A timed-out attempt is interrupted, which frees
+ *   its thread and executor capacity for the next items.
+ * - A failing item is reported to the listener as an {@link ItemFailedException} and dropped;
+ *   the rest of its batch carries on.
+ * - Per item and stage only the task handed to the executor is allocated: attempts report straight to their
+ *   batch, which tracks them in arrays, completes one future per stage and fires their timeouts with one
+ *   periodic sweep, instead of each item carrying a chain of futures and a scheduled timeout.
+ * - An item rejected by the executor's admission control (REJECT overflow policy) is shed: it is dropped without
+ *   being reported as failed or dead-lettered, and stays unprocessed for the next run.
+ * - The stage pools are created lazily, with the pipeline itself, on the first processing run.
+ */
+@Component
+@Lazy
+public class ItemProcessingPipeline implements DisposableBean {
+
+    private final List<Stage> stages;
+    private final int handoffBatchSize;
+    private final ItemProcessingMetrics metrics;
+    private final ItemProcessingProperties properties;
+    private final TransientRetry retry;
+    private final long itemTimeoutNanos;
+    // Timeouts fire up to one interval late: a tenth of the item timeout, between 1 ms and 1 s
+    private final long sweepIntervalMillis;
+
+    // Hands batches to the next stage; never runs item work, so it cannot be starved by the stages it feeds
+    private final ExecutorService handoff = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "item-pipeline-handoff"));
+
+    // Runs the batches' timeout sweeps; only flags, interrupts and reports attempts, so it never waits for item work
+    private final ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "item-pipeline-timeouts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ItemProcessingPipeline(List<ItemProcessor> processors, ItemProcessingProperties properties,
+                                  ItemProcessingMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.handoffBatchSize = Math.max(1, properties.getHandoffBatchSize());
+        this.retry = new TransientRetry(properties.getRetry());
+        this.itemTimeoutNanos = properties.getItemTimeout().toNanos();
+        this.sweepIntervalMillis = Math.max(1, Math.min(1000, properties.getItemTimeout().toMillis() / 10));
+        this.stages = processors.stream().map(this::createStage).toList();
+        // The sweeps of finished batches leave the queue right away
+        timeouts.setRemoveOnCancelPolicy(true);
+    }
+
+    private Stage createStage(ItemProcessor processor) {
+        ItemProcessingProperties.Stage settings = properties.getStages()
+                .getOrDefault(processor.name(), new ItemProcessingProperties.Stage());
+        int concurrency = settings.getConcurrency();
+        ForkJoinPool pool = null;
+        Semaphore limit = null;
+        if (processor.kind() == ItemProcessor.Kind.CPU) {
+            int parallelism = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+            String prefix = "item-stage-" + processor.name() + "-";
+            pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName(prefix + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        } else if (concurrency > 0) {
+            limit = new Semaphore(concurrency);
+        }
+        return new Stage(processor, pool, limit, metrics.stageTimer(processor.name()));
+    }
+
+    /**
+     * Runs a chunk through all stages and waits for it.
+     *
+     * @param ioExecutor executor of the IO stages
+     * @return the items that passed every stage, in chunk order
+     */
+    public List<Item> process(List<Item> chunk, Executor ioExecutor, ItemProcessingListener listener) {
+        List<CompletableFuture<List<Item>>> batches = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += handoffBatchSize) {
+            List<Item> batch = chunk.subList(from, Math.min(from + handoffBatchSize, chunk.size()));
+            long start = System.nanoTime();
+            CompletableFuture<List<Item>> flow = CompletableFuture.completedFuture(batch);
+            for (Stage stage : stages) {
+                flow = flow.thenComposeAsync(items -> stage.run(items, ioExecutor, listener), handoff);
+            }
+            batches.add(flow.thenApply(items -> {
+                long elapsed = System.nanoTime() - start;
+                items.forEach(item -> metrics.itemTimer().record(elapsed, TimeUnit.NANOSECONDS));
+                return items;
+            }));
+        }
+        return batches.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        long timeoutMillis = properties.getShutdownTimeout().toMillis();
+        handoff.shutdown();
+        timeouts.shutdownNow();
+        for (Stage stage : stages) {
+            if (stage.pool != null) {
+                stage.pool.shutdown();
+                stage.pool.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private final class Stage {
+
+        private final ItemProcessor processor;
+        private final ForkJoinPool pool;
+        private final Semaphore limit;
+        private final Timer timer;
+
+        private Stage(ItemProcessor processor, ForkJoinPool pool, Semaphore limit, Timer timer) {
+            this.processor = processor;
+            this.pool = pool;
+            this.limit = limit;
+            this.timer = timer;
+        }
+
+        // Processes a batch in parallel; completes when every item has passed or failed this stage
+        private CompletableFuture<List<Item>> run(List<Item> items, Executor ioExecutor, ItemProcessingListener listener) {
+            Batch batch = new Batch(items, pool != null ? pool : ioExecutor, listener);
+            for (int i = 0; i < items.size(); i++) {
+                batch.submit(i, 1);
+            }
+            return batch.result;
+        }
+
+        private Item processTimed(Item item) throws Exception {
+            if (limit != null) {
+                limit.acquire();
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                return processor.process(item);
+            } finally {
+                sample.stop(timer);
+                if (limit != null) {
+                    limit.release();
+                }
+            }
+        }
+
+        /*
+            One batch in this stage. Items report back to it directly instead of through a chain of futures each,
+            and it completes its single result future when the last item has passed or failed.
+            The state of every item's current attempt is kept in arrays, and one sweep task per batch fires the
+            timeouts, so an attempt costs no object besides the task handed to the executor.
+        */
+        private final class Batch {
+
+            // Not submitted yet: the sweep leaves it alone
+            private static final byte NEW = 0;
+            private static final byte QUEUED = 1;
+            private static final byte RUNNING = 2;
+            private static final byte ENDED = 3;
+
+            private final List<Item> items;
+            private final Executor executor;
+            private final ItemProcessingListener listener;
+            // Item that passed, by position in the batch; written before the pending count is decremented
+            private final Item[] passed;
+            private final AtomicInteger pending;
+            private final CompletableFuture<List<Item>> result = new CompletableFuture<>();
+            // Guarded by this, per position: current attempt number, its state, its deadline (System.nanoTime)
+            // and the thread running it (null unless RUNNING)
+            private final int[] attempts;
+            private final byte[] states;
+            private final long[] deadlines;
+            private final Thread[] runners;
+            private final ScheduledFuture<?> sweep;
+
+            private Batch(List<Item> items, Executor executor, ItemProcessingListener listener) {
+                this.items = items;
+                this.executor = executor;
+                this.listener = listener;
+                this.passed = new Item[items.size()];
+                this.pending = new AtomicInteger(items.size());
+                this.attempts = new int[items.size()];
+                this.states = new byte[items.size()];
+                this.deadlines = new long[items.size()];
+                this.runners = new Thread[items.size()];
+                if (items.isEmpty()) {
+                    result.complete(List.of());
+                    this.sweep = null;
+                } else {
+                    this.sweep = timeouts.scheduleWithFixedDelay(this::sweep,
+                            sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            /*
+                Submits one attempt, bounded by the item timeout.
+                An attempt shed by the executor's admission control is dropped without being reported as failed:
+                the item keeps its status and the next run picks it up again.
+            */
+            private void submit(int index, int attempt) {
+                synchronized (this) {
+                    attempts[index] = attempt;
+                    states[index] = QUEUED;
+                    deadlines[index] = System.nanoTime() + itemTimeoutNanos;
+                }
+                try {
+                    executor.execute(() -> run(index, attempt));
+                } catch (RejectedExecutionException e) {
+                    synchronized (this) {
+                        if (attempts[index] != attempt || states[index] != QUEUED) {
+                            // Timed out while the submission was blocked, and already reported
+                            return;
+                        }
+                        states[index] = ENDED;
+                    }
+                    metrics.recordShed();
+                    finish();
+                }
+            }
+
+            /*
+                Runs one attempt. It ends exactly once: by its stage returning or by the sweep finding it past its
+                deadline. A timed-out attempt is interrupted, or skipped if it has not started yet, so it gives back
+                its executor thread, concurrency permit and queue slot instead of holding them.
+            */
+            private void run(int index, int attempt) {
+                synchronized (this) {
+                    if (attempts[index] != attempt || states[index] != QUEUED) {
+                        // Timed out while waiting for a thread or a permit
+                        return;
+                    }
+                    states[index] = RUNNING;
+                    runners[index] = Thread.currentThread();
+                }
+                Item processed = null;
+                Throwable error = null;
+                try {
+                    processed = processTimed(items.get(index));
+                } catch (Throwable e) {
+                    error = e;
+                }
+                synchronized (this) {
+                    runners[index] = null;
+                    // An interrupt that raced with the end of the stage must not hit the thread's next task
+                    Thread.interrupted();
+                    if (attempts[index] != attempt || states[index] != RUNNING) {
+                        return;
+                    }
+                    states[index] = ENDED;
+                }
+                if (error == null) {
+                    passed[index] = processed;
+                    finish();
+                } else {
+                    failed(index, attempt, error);
+                }
+            }
+
+            // Ends every attempt past its deadline: interrupts it if it is running, then fails it with a timeout
+            private void sweep() {
+                int[] expired = null;
+                int count = 0;
+                long now = System.nanoTime();
+                synchronized (this) {
+                    for (int i = 0; i < states.length; i++) {
+                        if ((states[i] == QUEUED || states[i] == RUNNING) && now - deadlines[i] >= 0) {
+                            states[i] = ENDED;
+                            if (runners[i] != null) {
+                                runners[i].interrupt();
+                            }
+                            if (expired == null) {
+                                expired = new int[states.length];
+                            }
+                            expired[count++] = i;
+                        }
+                    }
+                }
+                // Attempt numbers of ended positions only change once failed() has submitted a retry
+                for (int i = 0; i < count; i++) {
+                    int index = expired[i];
+                    int attempt;
+                    synchronized (this) {
+                        attempt = attempts[index];
+                    }
+                    failed(index, attempt, new TimeoutException());
+                }
+            }
+
+            /*
+                Transient database errors are retried after a jittered backoff; anything else, a timeout or the
+                last failed attempt fails the item with an ItemFailedException.
+                The retry is submitted from another thread, since submitting can block until the executor has room.
+            */
+            private void failed(int index, int attempt, Throwable cause) {
+                if (retry.shouldRetry(cause, attempt)) {
+                    metrics.recordRetry(processor.name());
+                    CompletableFuture.delayedExecutor(retry.backoffMillis(attempt), TimeUnit.MILLISECONDS)
+                            .execute(() -> submit(index, attempt + 1));
+                    return;
+                }
+                metrics.recordFailure(cause);
+                listener.onItemFailed(items.get(index), new ItemFailedException(processor.name(), attempt, cause));
+                finish();
+            }
+
+            private void finish() {
+                if (pending.decrementAndGet() == 0) {
+                    sweep.cancel(false);
+                    result.complete(Arrays.stream(passed).filter(Objects::nonNull).toList());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuning knobs for the item processing engine, bound from {@code items.processing.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.processing")
+public class ItemProcessingProperties {
+
+    // Number of rows read, processed and written back per chunk (one SELECT + one batch UPDATE)
+    private int chunkSize = 500;
+
+    // How per-item work is executed: a fixed platform-thread pool or one virtual thread per task
+    private ExecutorMode executorMode = ExecutorMode.FIXED;
+
+    // Number of platform threads in FIXED mode
+    private int poolSize = 10;
+
+    // Maximum number of items processed at the same time; 0 means "use the Hikari maximum pool size"
+    private int maxConcurrency = 0;
+
+    // Items that may wait for a free slot on top of the running ones; beyond that the overflow policy applies
+    private int queueCapacity = 1000;
+
+    // What happens to a submission when the queue is full: BLOCK the submitter or REJECT (shed) the item
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    // Processing jobs allowed to run at the same time; further POST /api/items/process calls get 429.
+    // Batch runs on one node are serialized (see ItemBatchProcessor), so extra jobs wait for the running one
+    private int maxConcurrentJobs = 1;
+
+    // How long shutdown waits for in-flight items before interrupting them
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    // Items handed from one pipeline stage to the next at a time; a batch moves on as soon as all its items are done
+    private int handoffBatchSize = 50;
+
+    // Per-stage settings, keyed by ItemProcessor#name()
+    private Map<String, Stage> stages = new HashMap<>();
+
+    // Upper bound for one attempt of one item in one stage; a timed-out item fails instead of blocking the run
+    private Duration itemTimeout = Duration.ofSeconds(30);
+
+    // Retries of transient database errors, in the pipeline stages and when writing a chunk back
+    private Retry retry = new Retry();
+
+    // Row leases, so several nodes can process the same table without processing an item twice
+    private Lease lease = new Lease();
+
+    @Getter
+    @Setter
+    public static class Stage {
+
+        // Items of this stage running at the same time; 0 means cores for CPU stages, the executor limit for IO stages
+        private int concurrency = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        // Attempts in total, including the first one; 1 disables retries
+        private int maxAttempts = 3;
+
+        // Backoff before the first retry; doubled for every further retry, up to maxBackoff, then jittered
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Lease {
+
+        // Name of this node in lease owners and in its checkpoint; must differ between nodes. Empty means the host name
+        private String nodeId = "";
+
+        // How long claimed items stay reserved without renewal; items of a crashed node are claimable again after this
+        private Duration duration = Duration.ofMinutes(2);
+
+        // How often a running node extends the leases it holds; well below the duration
+        private Duration renewInterval = Duration.ofSeconds(30);
+    }
+
+    public enum ExecutorMode {
+        FIXED,
+        VIRTUAL
+    }
+
+    public enum OverflowPolicy {
+        BLOCK,
+        REJECT
+    }
+}
@@ -0,0 +1,33 @@
+package com.siemens.internship;
+
+/**
+ * One stage of the item processing pipeline.
+ *
+ * Every ItemProcessor bean becomes a stage; stages run in @Order order and each item passes through all of them
+ * before it is marked PROCESSED and written back. A stage that throws fails only that item, which is reported and
+ * skipped by the remaining stages.
+ *
+ * Implementations must be thread-safe: a stage processes many items at the same time.
+ * An item that runs longer than items.processing.item-timeout is interrupted, so blocking calls should give up
+ * when their thread is interrupted.
+ */
+public interface ItemProcessor {
+
+    // Decides which executor the stage runs on
+    enum Kind {
+        // Computation: runs on a dedicated fork-join pool sized to the number of cores
+        CPU,
+        // Blocking calls (database, HTTP, ...): runs on the item processing executor (virtual threads or fixed pool)
+        IO
+    }
+
+    // Stage name, used for the per-stage timer and the items.processing.stages.<name>.* properties
+    String name();
+
+    default Kind kind() {
+        return Kind.IO;
+    }
+
+    // Returns the processed item (usually the same instance, modified)
+    Item process(Item item) throws Exception;
+}
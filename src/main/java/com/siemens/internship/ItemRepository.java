@@ -1,11 +1,79 @@
 package com.siemens.internship;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("SELECT id FROM Item")
-    List<Long> findAllIds();
+    // Items still waiting for processing (no status yet, or any status other than the given one)
+    @Query("SELECT COUNT(i) FROM Item i WHERE i.status IS NULL OR i.status <> :status")
+    long countByStatusNot(@Param("status") String status);
+
+    // Cursor over all items in id order; must be consumed inside a transaction and closed afterwards
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i ORDER BY i.id")
+    Stream<Item> streamAll();
+
+    /*
+        Keyset pages: "the next :limit items after id :after", optionally filtered.
+        One query per filter combination keeps every predicate index-friendly (no "IS NULL OR" tricks);
+        the (status, id) and (email, id) indexes on Item serve both the filter and the ordering.
+    */
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Item> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long after, Limit limit);
+
+    List<Item> findByEmailAndIdGreaterThanOrderByIdAsc(String email, Long after, Limit limit);
+
+    List<Item> findByStatusAndEmailAndIdGreaterThanOrderByIdAsc(String status, String email, Long after, Limit limit);
+
+    // Only the version, to resolve an If-Match header that lists several ETags
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /*
+        Single-statement writes: the existence check (and, for the conditional variants, the version check)
+        is part of the WHERE clause, so the returned row count tells whether the write happened.
+        Every update bumps the version, which invalidates the ETags handed out before it.
+    */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.status = :status, i.email = :email,"
+            + " i.version = i.version + 1 WHERE i.id = :id")
+    int update(@Param("id") Long id, @Param("name") String name, @Param("description") String description,
+               @Param("status") String status, @Param("email") String email);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.status = :status, i.email = :email,"
+            + " i.version = i.version + 1 WHERE i.id = :id AND i.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("name") String name, @Param("description") String description,
+                        @Param("status") String status, @Param("email") String email, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.id = :id")
+    int deleteIfExists(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.version = :version")
+    int deleteIfVersion(@Param("id") Long id, @Param("version") Long version);
+
+    // Narrow status-only writes: no read, and only the status and version columns are touched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :status, i.version = i.version + 1 WHERE i.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :status, i.version = i.version + 1 WHERE i.id = :id AND i.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") String status, @Param("version") Long version);
 }
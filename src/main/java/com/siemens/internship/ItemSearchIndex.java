@@ -0,0 +1,368 @@
+package com.siemens.internship;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the name and description of every item.
+ *
+ * - Text is split into lower-cased runs of letters and digits; each term maps to the ids of the items containing it,
+ *   kept as sorted primitive arrays (no boxing per posting), together with a weight (name hits count triple).
+ * - A query matches the items containing all of its terms. The rarest term's postings are walked and looked up
+ *   in the others with binary search, so a query costs roughly its rarest term, not the table size.
+ * - Matches are ranked by TF-IDF and only the top offset + limit of them are kept in a heap.
+ * - The index is rebuilt from the table at startup (streamed, before the server accepts requests) and kept up to date
+ *   by {@link ItemService} after each write commits.
+ * - Writes made on other nodes (or through the reactive profile) only show up after a rebuild: with
+ *   items.search.rebuild-interval set, the table is re-read in the background and the new index swapped in,
+ *   so searches are not blocked while it is read.
+ */
+@Component
+public class ItemSearchIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private static final String SELECT_ALL = "SELECT id, name, description FROM item";
+    private static final String SELECT_ONE = "SELECT id, name, description FROM item WHERE id = ?";
+
+    // Result of a query: the ids of one page, best match first, and the total number of matches
+    public record Hits(List<Long> ids, int total) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemSearchProperties properties;
+    private ScheduledExecutorService rebuilds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock: term -> postings, and item id -> its terms (needed to remove an item without re-reading it)
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Long, String[]> itemTerms = new HashMap<>();
+    // Guarded by lock: ids written while a rebuild reads the table, re-read once it is swapped in; null otherwise
+    private Set<Long> writtenDuringRebuild;
+
+    public ItemSearchIndex(JdbcTemplate jdbcTemplate, ItemSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    // Runs once all singletons (and so the schema) exist, but before the web server starts taking requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+        long intervalMillis = properties.getRebuildInterval().toMillis();
+        if (intervalMillis > 0) {
+            rebuilds = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "item-search-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            });
+            rebuilds.scheduleWithFixedDelay(this::scheduledRebuild, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // A failed rebuild keeps the current index and is retried at the next interval
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild the search index", e);
+        }
+    }
+
+    /*
+        Re-reads the whole table into a new index, streamed row by row, and swaps it in.
+        Searches keep using the current index meanwhile; items written during the read are re-read after the swap,
+        since the read may have seen them before their write committed.
+    */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Postings> newPostings = new HashMap<>();
+        Map<Long, String[]> newItemTerms = new HashMap<>();
+        Set<Long> written;
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        boolean read = false;
+        try {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SELECT_ALL);
+                statement.setFetchSize(REBUILD_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> add(newPostings, newItemTerms,
+                    rs.getLong("id"), rs.getString("name"), rs.getString("description")));
+            read = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                written = writtenDuringRebuild;
+                writtenDuringRebuild = null;
+                if (read) {
+                    postings = newPostings;
+                    itemTerms = newItemTerms;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        written.forEach(this::reindex);
+        log.info("Indexed {} items for search in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilds != null) {
+            rebuilds.shutdownNow();
+        }
+    }
+
+    // (Re)indexes an item from its current name and description
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(item.getId());
+            add(postings, itemTerms, item.getId(), item.getName(), item.getDescription());
+            markWritten(item.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Re-reads one item's text, for writes that changed only some of its columns
+    public void reindex(Long id) {
+        List<Item> rows = jdbcTemplate.query(SELECT_ONE,
+                (rs, rowNum) -> new Item(rs.getLong("id"), rs.getString("name"), rs.getString("description"), null, null),
+                id);
+        if (rows.isEmpty()) {
+            remove(id);
+        } else {
+            index(rows.get(0));
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            markWritten(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void markWritten(Long id) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(id);
+        }
+    }
+
+    /**
+     * Finds the items containing every term of the query, best match first.
+     *
+     * @return one page of matching ids, and the total number of matches (0 if the query has no terms)
+     */
+    public Hits search(String query, int offset, int limit) {
+        Map<String, Integer> queryTerms = termWeights(query, 1, new LinkedHashMap<>());
+        if (queryTerms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms.keySet()) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return new Hits(List.of(), 0);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            double[] idf = new double[lists.size()];
+            for (int t = 0; t < lists.size(); t++) {
+                idf[t] = Math.log(1.0 + (double) itemTerms.size() / lists.get(t).size);
+            }
+
+            // Min-heap of the best offset + limit matches seen so far
+            int keep = offset + limit;
+            PriorityQueue<ScoredId> top = new PriorityQueue<>(ScoredId.WORST_FIRST);
+            Postings rarest = lists.get(0);
+            int total = 0;
+            for (int i = 0; i < rarest.size; i++) {
+                long id = rarest.ids[i];
+                double score = idf[0] * rarest.weights[i];
+                boolean matchesAll = true;
+                for (int t = 1; t < lists.size() && matchesAll; t++) {
+                    Postings list = lists.get(t);
+                    int position = list.indexOf(id);
+                    if (position < 0) {
+                        matchesAll = false;
+                    } else {
+                        score += idf[t] * list.weights[position];
+                    }
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                total++;
+                if (top.size() < keep) {
+                    top.add(new ScoredId(id, score));
+                } else if (keep > 0 && ScoredId.WORST_FIRST.compare(top.peek(), new ScoredId(id, score)) < 0) {
+                    top.poll();
+                    top.add(new ScoredId(id, score));
+                }
+            }
+
+            List<ScoredId> ranked = new ArrayList<>(top);
+            ranked.sort(ScoredId.WORST_FIRST.reversed());
+            List<Long> page = ranked.stream().skip(offset).map(ScoredId::id).toList();
+            return new Hits(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of indexed items
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return itemTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock, or owns the maps (a rebuild that is not swapped in yet)
+    private static void add(Map<String, Postings> postings, Map<Long, String[]> itemTerms,
+                            long id, String name, String description) {
+        Map<String, Integer> weights = termWeights(name, NAME_WEIGHT, new HashMap<>());
+        termWeights(description, DESCRIPTION_WEIGHT, weights);
+        if (weights.isEmpty()) {
+            return;
+        }
+        String[] terms = new String[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            list.put(id, entry.getValue());
+            // Every item with this term shares the postings' copy of the string
+            terms[i++] = list.term;
+        }
+        itemTerms.put(id, terms);
+    }
+
+    // Caller holds the write lock
+    private void removeTerms(long id) {
+        String[] terms = itemTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Adds weight to every term occurrence in the text: lower-cased runs of letters and digits
+    static Map<String, Integer> termWeights(String text, int weight, Map<String, Integer> weights) {
+        if (text == null) {
+            return weights;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                weights.merge(text.substring(start, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                start = -1;
+            }
+        }
+        return weights;
+    }
+
+    private record ScoredId(long id, double score) {
+        // Lowest score first; among equal scores the higher id counts as worse, so older items win ties
+        static final Comparator<ScoredId> WORST_FIRST = Comparator.comparingDouble(ScoredId::score)
+                .thenComparing(Comparator.comparingLong(ScoredId::id).reversed());
+    }
+
+    // Ids of the items containing one term, sorted, with the term's weight in each item
+    private static final class Postings {
+
+        private final String term;
+        private long[] ids = new long[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        // New ids come from a sequence, so this is almost always an append
+        private void put(long id, int weight) {
+            int position = size == 0 || ids[size - 1] < id ? -(size + 1) : indexOf(id);
+            if (position >= 0) {
+                weights[position] = weight;
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int position = indexOf(id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
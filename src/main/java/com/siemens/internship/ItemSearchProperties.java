@@ -0,0 +1,19 @@
+package com.siemens.internship;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process search index, bound from {@code items.search.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "items.search")
+public class ItemSearchProperties {
+
+    // The index is rebuilt from the table this often, to pick up writes made on other nodes; zero disables it
+    private Duration rebuildInterval = Duration.ZERO;
+}
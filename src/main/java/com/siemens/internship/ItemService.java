@@ -1,89 +1,470 @@
 package com.siemens.internship;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.siemens.internship.exceptions.BulkValidationException;
+import com.siemens.internship.exceptions.ItemVersionConflictException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.*;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Asynchronously processes all Items in the database.
+ * Item CRUD, search and processing.
  *
- * Refactored to address concurrency, error handling, and resource efficiency issues:
- *
- * Changes made:
- * - Each item is processed asynchronously using CompletableFuture.supplyAsync() with a shared thread pool.
- * - Exceptions during processing are properly caught and propagated without affecting other tasks.
- * - Thread safety ensured by eliminating shared mutable state (no shared lists or counters).
- * - Uses join() to wait for all asynchronous tasks to complete before returning.
- * - Returns a clean list of all successfully processed Items, filtering out failures.
- * - Correctly handles thread interruptions by resetting the thread's interrupted status.
- * - Efficiently reuses system resources via an ExecutorService instead of creating new threads manually.
+ * - findById is cached (size- and TTL-bounded); every write keeps the cache, the {@link ItemSearchIndex} and the
+ *   {@link ItemEventBus} in sync after commit.
+ * - Single-item updates, patches, status changes and deletes are one conditional statement (existence and optional
+ *   version check in the WHERE clause), writing only the changed columns.
+ * - Processing runs are @Async on the bounded processingJobExecutor ({@link ProcessingJobConfig}) and delegate to
+ *   {@link ItemBatchProcessor}; failing items are dead-lettered and reported without aborting the run.
+ * - Every public method is timed (items.service, tagged by method).
  */
 @Service
+@Timed(value = "items.service", histogram = true)
 public class ItemService {
+    public static final String ITEMS_CACHE = "items";
+
+    // Fields a partial update may change; id and version are managed by the server
+    public static final Set<String> PATCHABLE_FIELDS = Set.of("name", "description", "status", "email");
+
+    // Fields a sparse fieldset (?fields=) may select
+    public static final Set<String> SELECTABLE_FIELDS = Set.of("id", "name", "description", "status", "email", "version");
+
     @Autowired
     private ItemRepository itemRepository;
-    private static ExecutorService executor = Executors.newFixedThreadPool(10);
+    @Autowired
+    private ItemBatchProcessor batchProcessor;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private CacheManager cacheManager;
+    // Lazy: the executor is only created on the first processing run
+    @Autowired
+    @Lazy
+    private ItemProcessingExecutor executor;
+    @Autowired
+    private DeadLetterItemRepository deadLetterRepository;
+    @Autowired
+    private ItemEventBus eventBus;
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    // One page of search results, best match first, and the total number of matching items
+    public record SearchPage(List<Item> items, int total) {
+    }
 
     public List<Item> findAll() {
         return itemRepository.findAll();
     }
 
+    /**
+     * Streams every item to the given action one at a time.
+     * Each entity is detached once handled, so the persistence context (and the heap) stays flat at any row count.
+     */
+    @Transactional(readOnly = true)
+    public void forEachItem(Consumer<Item> action) {
+        try (Stream<Item> items = itemRepository.streamAll()) {
+            items.forEach(item -> {
+                action.accept(item);
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    // Returns the next page of items after the given id, optionally filtered by status and/or email
+    public List<Item> findPage(long after, int limit, String status, String email) {
+        Limit pageLimit = Limit.of(limit);
+        if (status != null && email != null) {
+            return itemRepository.findByStatusAndEmailAndIdGreaterThanOrderByIdAsc(status, email, after, pageLimit);
+        }
+        if (status != null) {
+            return itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, after, pageLimit);
+        }
+        if (email != null) {
+            return itemRepository.findByEmailAndIdGreaterThanOrderByIdAsc(email, after, pageLimit);
+        }
+        return itemRepository.findByIdGreaterThanOrderByIdAsc(after, pageLimit);
+    }
+
+    /**
+     * Reads only the given columns of the items, in id order: one page (id > after, at most limit rows),
+     * or all items when limit is null. The id is always selected, since it is the pagination cursor.
+     *
+     * @param fields names from {@link #SELECTABLE_FIELDS}, in the order they should appear in each row
+     * @return one map per item, from field name to value
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(List<String> fields, long after, Integer limit, String status, String email) {
+        List<String> columns = new ArrayList<>(fields);
+        if (!columns.contains("id")) {
+            columns.add(0, "id");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Item> root = query.from(Item.class);
+        query.multiselect(columns.stream().<Selection<?>>map(column -> root.get(column).alias(column)).toList());
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.gt(root.get("id"), after));
+        if (status != null) {
+            where.add(cb.equal(root.get("status"), status));
+        }
+        if (email != null) {
+            where.add(cb.equal(root.get("email"), email));
+        }
+        query.where(where.toArray(Predicate[]::new)).orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream().map(tuple -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            columns.forEach(column -> row.put(column, tuple.get(column)));
+            return row;
+        }).toList();
+    }
+
+    /**
+     * Finds the items whose name or description contain every word of the query, best match first.
+     * The ids come from the search index; the page's items are then loaded with a single IN query.
+     */
+    public SearchPage search(String query, int offset, int limit) {
+        ItemSearchIndex.Hits hits = searchIndex.search(query, offset, limit);
+        Map<Long, Item> items = itemRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        // Items deleted since the index was queried are left out
+        List<Item> page = hits.ids().stream().map(items::get).filter(Objects::nonNull).toList();
+        return new SearchPage(page, hits.total());
+    }
+
+    // Read-through: hot items are served from the "items" cache without touching the database
+    @Cacheable(cacheNames = ITEMS_CACHE, key = "#id")
     public Optional<Item> findById(Long id) {
         return itemRepository.findById(id);
     }
 
+    // Current version straight from the database (not the cache), or empty if no item with this id exists
+    public Optional<Long> findVersion(Long id) {
+        return itemRepository.findVersionById(id);
+    }
+
+    @CachePut(cacheNames = ITEMS_CACHE, key = "#result.id")
     public Item save(Item item) {
-        return itemRepository.save(item);
+        boolean created = item.getId() == null;
+        Item saved = itemRepository.save(item);
+        if (created) {
+            eventBus.publish(ItemEvent.ITEM_CREATED, saved);
+        } else {
+            eventBus.publish(ItemEvent.ITEM_UPDATED, Map.of("id", saved.getId()));
+        }
+        AfterCommit.run(() -> searchIndex.index(saved));
+        return saved;
     }
 
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#id")
     public void deleteById(Long id) {
         itemRepository.deleteById(id);
+        eventBus.publish(ItemEvent.ITEM_DELETED, Map.of("id", id));
+        AfterCommit.run(() -> searchIndex.remove(id));
     }
 
-    @Async
-    public CompletableFuture<List<Item>> processItemsAsync() {
-        List<Long> itemIds = itemRepository.findAllIds();
-
-        List<CompletableFuture<Item>> futures = new ArrayList<>();
-
-        for (Long id : itemIds) {
-            CompletableFuture<Item> future = CompletableFuture.supplyAsync(() -> {
-                try {
-                    // Simulate delay
-                    Thread.sleep(100);
-
-                    Optional<Item> optionalItem = itemRepository.findById(id);
-                    if (optionalItem.isEmpty()) {
-                        return null;
-                    }
-
-                    Item item = optionalItem.get();
-                    item.setStatus("PROCESSED");
-                    return itemRepository.save(item);
-
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new IllegalStateException("Thread was interrupted", e);
-                } catch (Exception e) {
-                    throw new RuntimeException("Error processing item with ID: " + id, e);
-                }
-            }, executor);
+    /**
+     * Updates an item with a single UPDATE statement.
+     *
+     * @param expectedVersion version the client last saw (from If-Match), or null for an unconditional update
+     * @return the updated item, or empty if no item with this id exists
+     * @throws ItemVersionConflictException if the item exists but its version is no longer the expected one
+     */
+    @Transactional
+    public Optional<Item> update(Long id, Item item, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? itemRepository.update(id, item.getName(), item.getDescription(), item.getStatus(), item.getEmail())
+                : itemRepository.updateIfVersion(id, item.getName(), item.getDescription(), item.getStatus(),
+                        item.getEmail(), expectedVersion);
+        if (updated == 0) {
+            return notWritten(id, expectedVersion);
+        }
 
-            futures.add(future);
+        Item result;
+        if (expectedVersion != null) {
+            // The new version is known, so the response is built without reading the row back
+            item.setId(id);
+            item.setVersion(expectedVersion + 1);
+            result = item;
+        } else {
+            result = itemRepository.findById(id).orElseThrow();
         }
+        transactionalItemsCache().put(id, result);
+        eventBus.publish(ItemEvent.ITEM_UPDATED, Map.of("id", id));
+        AfterCommit.run(() -> searchIndex.index(result));
+        return Optional.of(result);
+    }
 
-        List<Item> processedItems = futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .toList();
+    /**
+     * Deletes an item with a single DELETE statement.
+     *
+     * @param expectedVersion version the client last saw (from If-Match), or null for an unconditional delete
+     * @return true if the item was deleted, false if no item with this id exists
+     * @throws ItemVersionConflictException if the item exists but its version is no longer the expected one
+     */
+    @Transactional
+    public boolean delete(Long id, Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? itemRepository.deleteIfExists(id)
+                : itemRepository.deleteIfVersion(id, expectedVersion);
+        boolean found = written(id, deleted, expectedVersion, ItemEvent.ITEM_DELETED);
+        if (found) {
+            AfterCommit.run(() -> searchIndex.remove(id));
+        }
+        return found;
+    }
 
+    /**
+     * Applies a partial update with a single UPDATE that sets only the given columns.
+     *
+     * @param changes new values by field name (a null value clears the field); keys must be {@link #PATCHABLE_FIELDS}
+     * @param expectedVersion version the client last saw (from If-Match), or null for an unconditional update
+     * @return true if the item was updated, false if no item with this id exists
+     * @throws ItemVersionConflictException if the item exists but its version is no longer the expected one
+     */
+    @Transactional
+    public boolean patch(Long id, Map<String, String> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            // An empty merge patch changes nothing, so it does not bump the version either
+            Optional<Item> existing = itemRepository.findById(id);
+            if (existing.isPresent() && expectedVersion != null && !expectedVersion.equals(existing.get().getVersion())) {
+                throw new ItemVersionConflictException(id);
+            }
+            return existing.isPresent();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Item> update = cb.createCriteriaUpdate(Item.class);
+        Root<Item> root = update.from(Item.class);
+        changes.forEach((field, value) -> update.set(root.<String>get(field), value));
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        Predicate where = cb.equal(root.get("id"), id);
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(root.get("version"), expectedVersion));
+        }
+        update.where(where);
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        boolean found = written(id, updated, expectedVersion, ItemEvent.ITEM_UPDATED);
+        if (found && (changes.containsKey("name") || changes.containsKey("description"))) {
+            // Only one of the indexed columns may have changed, so the other one is read back once committed
+            AfterCommit.run(() -> searchIndex.reindex(id));
+        }
+        return found;
+    }
+
+    /**
+     * Sets only the status of an item: one narrow UPDATE, no read.
+     *
+     * @return true if the item was updated, false if no item with this id exists
+     * @throws ItemVersionConflictException if the item exists but its version is no longer the expected one
+     */
+    @Transactional
+    public boolean updateStatus(Long id, String status, Long expectedVersion) {
+        int updated = expectedVersion == null
+                ? itemRepository.updateStatus(id, status)
+                : itemRepository.updateStatusIfVersion(id, status, expectedVersion);
+        return written(id, updated, expectedVersion, ItemEvent.ITEM_UPDATED);
+    }
+
+    // After a delete or partial write the cached copy is stale; it is re-read on the next findById
+    private boolean written(Long id, int updated, Long expectedVersion, String eventType) {
+        if (updated == 0) {
+            return notWritten(id, expectedVersion).isPresent();
+        }
+        transactionalItemsCache().evict(id);
+        eventBus.publish(eventType, Map.of("id", id));
+        return true;
+    }
+
+    // A conditional write matched no row: only now is it worth a second query to tell "missing" from "stale"
+    private Optional<Item> notWritten(Long id, Long expectedVersion) {
+        if (expectedVersion != null && itemRepository.existsById(id)) {
+            throw new ItemVersionConflictException(id);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Inserts all items in one transaction; with pooled sequence ids and hibernate.jdbc.batch_size
+     * the INSERTs are sent as JDBC batches instead of one statement per round trip.
+     */
+    @Transactional
+    public List<Item> saveAll(List<Item> items) {
+        items.forEach(item -> {
+            item.setId(null);
+            item.setVersion(null);
+        });
+        List<Item> saved = itemRepository.saveAll(items);
+        Cache cache = transactionalItemsCache();
+        saved.forEach(item -> cache.put(item.getId(), item));
+        eventBus.publish(ItemEvent.ITEMS_CREATED, ItemEvent.ids(saved.stream().map(Item::getId).toList()));
+        AfterCommit.run(() -> saved.forEach(searchIndex::index));
+        return saved;
+    }
+
+    /**
+     * Updates all items in one transaction.
+     * The existing rows are loaded with a single IN query; the changes are then flushed as batched UPDATEs.
+     *
+     * @throws BulkValidationException if some ids are given more than once or do not exist (keyed by element index)
+     */
+    @Transactional
+    public List<Item> updateAll(List<Item> items) {
+        // Two elements with one id would both be applied to the same managed row, and only the last one would count
+        Map<Long, Integer> firstIndex = new HashMap<>();
+        Map<Integer, Map<String, String>> duplicates = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Integer first = firstIndex.putIfAbsent(items.get(i).getId(), i);
+            if (first != null) {
+                duplicates.put(i, Map.of("id", "Duplicate id, also given at index " + first));
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new BulkValidationException(duplicates);
+        }
+
+        Map<Long, Item> existing = itemRepository.findAllById(items.stream().map(Item::getId).toList()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        Map<Integer, Map<String, String>> errors = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (!existing.containsKey(items.get(i).getId())) {
+                errors.put(i, Map.of("id", "Item not found"));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+
+        Cache cache = transactionalItemsCache();
+        List<Item> updated = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Item managed = existing.get(item.getId());
+            managed.setName(item.getName());
+            managed.setDescription(item.getDescription());
+            managed.setStatus(item.getStatus());
+            managed.setEmail(item.getEmail());
+            cache.put(managed.getId(), managed);
+            updated.add(managed);
+        }
+        eventBus.publish(ItemEvent.ITEMS_UPDATED, ItemEvent.ids(updated.stream().map(Item::getId).toList()));
+        AfterCommit.run(() -> updated.forEach(searchIndex::index));
+        return updated;
+    }
+
+    // Deletes all given ids with a single DELETE ... WHERE id IN (...)
+    @Transactional
+    public void deleteAllById(List<Long> ids) {
+        itemRepository.deleteAllByIdInBatch(ids);
+        Cache cache = transactionalItemsCache();
+        ids.forEach(cache::evict);
+        eventBus.publish(ItemEvent.ITEMS_DELETED, ItemEvent.ids(List.copyOf(ids)));
+        AfterCommit.run(() -> ids.forEach(searchIndex::remove));
+    }
+
+    // Dead letters of one item, or the most recent ones of all items
+    public List<DeadLetterItem> findDeadLetters(Long itemId, int limit) {
+        if (itemId != null) {
+            return deadLetterRepository.findByItemIdOrderByFailedAtDesc(itemId, Limit.of(limit));
+        }
+        return deadLetterRepository.findByOrderByFailedAtDesc(Limit.of(limit));
+    }
+
+    // Hit/miss/eviction counters of the item cache
+    public CacheStats cacheStats() {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) itemsCache().getNativeCache()).stats();
+    }
+
+    private Cache itemsCache() {
+        return cacheManager.getCache(ITEMS_CACHE);
+    }
+
+    // Defers puts/evictions made inside a transaction until it commits, so a rollback never leaves stale entries
+    private Cache transactionalItemsCache() {
+        return new TransactionAwareCacheDecorator(itemsCache());
+    }
+
+    @Async("processingJobExecutor")
+    public CompletableFuture<List<Item>> processItemsAsync() {
+        List<Item> processedItems = new ArrayList<>();
+        batchProcessor.processAll(executor, processedItems::addAll);
         return CompletableFuture.completedFuture(processedItems);
     }
-}
 
+    /**
+     * Runs a processing job in the background and records its progress on the job handle.
+     * Only counts are kept, so memory does not grow with the number of processed items.
+     * The job's state is published as a job.progress event when it starts, after every chunk and when it ends.
+     */
+    @Async("processingJobExecutor")
+    public CompletableFuture<ProcessingJob> runJob(ProcessingJob job) {
+        try {
+            job.start(itemRepository.countByStatusNot(ItemBatchProcessor.PROCESSED));
+            eventBus.publish(ItemEvent.JOB_PROGRESS, job);
+            batchProcessor.processAll(executor, new ItemProcessingListener() {
+                @Override
+                public boolean isCancelled() {
+                    return job.isCancelled();
+                }
+
+                @Override
+                public void onChunkProcessed(List<Item> items) {
+                    job.onChunkProcessed(items);
+                    eventBus.publish(ItemEvent.JOB_PROGRESS, job);
+                }
+
+                @Override
+                public void onItemFailed(Item item, Throwable error) {
+                    job.onItemFailed(item, error);
+                }
+            });
+            job.complete();
+        } catch (RuntimeException e) {
+            job.fail(e);
+        }
+        eventBus.publish(ItemEvent.JOB_PROGRESS, job);
+        return CompletableFuture.completedFuture(job);
+    }
+}
@@ -0,0 +1,27 @@
+package com.siemens.internship;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Last item id covered by an unfinished processing run; written together with each chunk so a restarted run can resume
+@Entity
+@Table(name = "processing_checkpoint")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+    @Id
+    private String name;
+
+    private Long lastId;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,157 @@
+package com.siemens.internship;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handle for one background run of the item processor.
+ *
+ * Counters are updated by the job and processing threads while clients poll the handle, so all mutable state is
+ * either atomic, volatile or synchronized. Jackson serializes the getters as the job status response.
+ */
+public class ProcessingJob implements ItemProcessingListener {
+
+    // Only the first failures are kept with their error message; the rest are only counted
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    public record ItemFailure(Long itemId, String error) {
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        // Ran to the end, but some items failed; see failedItems and failures (they are also dead-lettered)
+        PARTIALLY_COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong processedItems = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private final List<ItemFailure> failures = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long totalItems;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    public long getProcessedItems() {
+        return processedItems.get();
+    }
+
+    public long getFailedItems() {
+        return failedItems.get();
+    }
+
+    public List<ItemFailure> getFailures() {
+        synchronized (failures) {
+            return List.copyOf(failures);
+        }
+    }
+
+    // Percentage of the items counted at start that have been processed so far
+    public double getProgress() {
+        if (status == Status.COMPLETED || status == Status.PARTIALLY_COMPLETED) {
+            return 100.0;
+        }
+        return totalItems == 0 ? 0.0 : Math.min(100.0, processedItems.get() * 100.0 / totalItems);
+    }
+
+    public long getDurationMillis() {
+        if (startedAt == null) {
+            return 0L;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.PARTIALLY_COMPLETED
+                || status == Status.CANCELLED || status == Status.FAILED;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    @Override
+    public void onChunkProcessed(List<Item> items) {
+        processedItems.addAndGet(items.size());
+    }
+
+    @Override
+    public void onItemFailed(Item item, Throwable error) {
+        failedItems.incrementAndGet();
+        synchronized (failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new ItemFailure(item.getId(), error.getMessage()));
+            }
+        }
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    void start(long totalItems) {
+        this.totalItems = totalItems;
+        this.startedAt = Instant.now();
+        this.status = Status.RUNNING;
+    }
+
+    void complete() {
+        if (cancelRequested) {
+            finish(Status.CANCELLED);
+        } else {
+            finish(failedItems.get() > 0 ? Status.PARTIALLY_COMPLETED : Status.COMPLETED);
+        }
+    }
+
+    void fail(Throwable cause) {
+        this.error = cause.getMessage();
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status finalStatus) {
+        this.finishedAt = Instant.now();
+        this.status = finalStatus;
+    }
+}
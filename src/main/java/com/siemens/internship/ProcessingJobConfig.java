@@ -0,0 +1,26 @@
+package com.siemens.internship;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor of the @Async processing runs ({@link ItemService#runJob} and {@link ItemService#processItemsAsync}).
+ *
+ * Runs are long and mostly wait on the item processing executor, so they get their own small, bounded pool instead of
+ * Spring's default async executor, which would otherwise start an unbounded thread per run or share its threads with
+ * async MVC requests. One thread per allowed job, and room for as many waiting runs; further runs are rejected.
+ */
+@Configuration
+public class ProcessingJobConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor processingJobExecutor(ItemProcessingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("processing-job-");
+        executor.setCorePoolSize(properties.getMaxConcurrentJobs());
+        executor.setMaxPoolSize(properties.getMaxConcurrentJobs());
+        executor.setQueueCapacity(properties.getMaxConcurrentJobs());
+        return executor;
+    }
+}
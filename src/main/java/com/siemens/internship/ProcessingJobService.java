@@ -0,0 +1,93 @@
+package com.siemens.internship;
+
+import com.siemens.internship.exceptions.TooManyJobsException;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Registry of processing jobs.
+ *
+ * Jobs are started through the @Async {@link ItemService#runJob(ProcessingJob)} so the calling request thread
+ * returns immediately; the "reactive" profile starts its own pipeline through {@link #start(Function)}, and shares
+ * the registry and limit. Only the most recent finished jobs are kept, to bound the registry's memory.
+ * At most items.processing.max-concurrent-jobs jobs run at once; further requests are rejected.
+ */
+@Service
+public class ProcessingJobService {
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final ItemService itemService;
+    private final int maxConcurrentJobs;
+    private final Semaphore runningJobs;
+
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+
+    public ProcessingJobService(ItemService itemService, ItemProcessingProperties properties) {
+        this.itemService = itemService;
+        this.maxConcurrentJobs = properties.getMaxConcurrentJobs();
+        this.runningJobs = new Semaphore(maxConcurrentJobs);
+    }
+
+    /**
+     * Starts a new processing job.
+     *
+     * @throws TooManyJobsException if the maximum number of jobs is already running
+     */
+    public ProcessingJob start() {
+        return start(itemService::runJob);
+    }
+
+    /**
+     * Starts a new processing job with the given launcher, which must run it in the background, record its outcome
+     * on the job and return a future that completes when it ends.
+     *
+     * @throws TooManyJobsException if the maximum number of jobs is already running
+     */
+    public ProcessingJob start(Function<ProcessingJob, CompletableFuture<?>> launcher) {
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException(maxConcurrentJobs);
+        }
+        evictFinishedJobs();
+        ProcessingJob job = new ProcessingJob();
+        jobs.put(job.getJobId(), job);
+        try {
+            launcher.apply(job).whenComplete((result, error) -> runningJobs.release());
+        } catch (RuntimeException e) {
+            runningJobs.release();
+            job.fail(e);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<ProcessingJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    // Requests cancellation; the job stops at the next chunk boundary (the reactive pipeline: at the next item)
+    public Optional<ProcessingJob> cancel(String jobId) {
+        Optional<ProcessingJob> job = find(jobId);
+        job.ifPresent(ProcessingJob::cancel);
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        long finished = jobs.values().stream().filter(ProcessingJob::isFinished).count();
+        if (finished <= MAX_FINISHED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ProcessingJob::isFinished)
+                .sorted(Comparator.comparing(ProcessingJob::getFinishedAt))
+                .limit(finished - MAX_FINISHED_JOBS)
+                .forEach(job -> jobs.remove(job.getJobId()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.siemens.internship;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Wiring for the "reactive" profile.
+ *
+ * Spring Boot skips the JDBC DataSource as soon as an R2DBC ConnectionFactory exists. The reactive profile still needs
+ * it for schema creation and the JPA-based services, so it is declared explicitly from the spring.datasource.* settings.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.siemens.internship;
+
+import com.siemens.internship.exceptions.ItemVersionConflictException;
+import com.siemens.internship.exceptions.UnsupportedParametersException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static com.siemens.internship.ItemController.DEFAULT_PAGE_SIZE;
+import static com.siemens.internship.ItemController.MAX_PAGE_SIZE;
+
+/**
+ * WebFlux variant of {@link ItemController}, active with the "reactive" profile.
+ * Lists are streamed as a JSON array or, with Accept: application/x-ndjson, one item per line.
+ *
+ * - Same contract for listing (keyset pagination with limit/after, status and email filters, Link rel="next"),
+ *   create, get, update and delete (ETag, If-Match) and processing jobs, which share the MVC job registry and limit.
+ * - Only the MVC controller has sparse fieldsets (fields=...), PATCH, PUT /{id}/status, /bulk, /search, /events,
+ *   /dead-letters and /cache/stats; they are not mapped here. A list request with a parameter this controller
+ *   does not know answers 400 instead of silently returning the whole table.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/items")
+public class ReactiveItemController {
+
+    // Every other list parameter is rejected; lists are always streamed, so stream=true changes nothing
+    static final List<String> LIST_PARAMETERS = List.of("limit", "after", "status", "email", "stream");
+
+    private final ReactiveItemService itemService;
+    private final ProcessingJobService processingJobService;
+
+    public ReactiveItemController(ReactiveItemService itemService, ProcessingJobService processingJobService) {
+        this.itemService = itemService;
+        this.processingJobService = processingJobService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<Item>>> getAllItems(
+            @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String email,
+            ServerHttpRequest request) {
+        List<String> unsupported = request.getQueryParams().keySet().stream()
+                .filter(parameter -> !LIST_PARAMETERS.contains(parameter))
+                .toList();
+        if (!unsupported.isEmpty()) {
+            throw new UnsupportedParametersException("Reactive lists", unsupported);
+        }
+        if (limit == null && after == null && status == null && email == null) {
+            return Mono.just(ResponseEntity.ok(itemService.findAll()));
+        }
+
+        // A page is at most MAX_PAGE_SIZE items, so it is collected to know whether a next link is needed
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        return itemService.findPage(after != null ? after : 0L, pageSize, status, email)
+                .collectList()
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.size() == pageSize) {
+                        String next = UriComponentsBuilder.fromUri(request.getURI())
+                                .replaceQueryParam("after", page.get(page.size() - 1).getId())
+                                .replaceQueryParam("limit", pageSize)
+                                .build().toUriString();
+                        response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return response.body(Flux.fromIterable(page));
+                });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Item>> createItem(@Valid @RequestBody Item item) {
+        item.setId(null);
+        item.setVersion(null);
+        return itemService.save(item)
+                .map(savedItem -> new ResponseEntity<>(savedItem, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Item>> getItemById(@PathVariable Long id) {
+        return itemService.findById(id)
+                .map(item -> ResponseEntity.ok().eTag(ItemController.etagOf(item)).body(item))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateItem(@PathVariable Long id, @Valid @RequestBody Item item,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return expectedVersion(id, ifMatch)
+                .flatMap(expectedVersion -> itemService.update(id, item, expectedVersion.orElse(null)))
+                .<ResponseEntity<?>>map(updatedItem -> ResponseEntity.ok()
+                        .eTag(ItemController.etagOf(updatedItem))
+                        .body(updatedItem))
+                .defaultIfEmpty(new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deleteItem(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return expectedVersion(id, ifMatch)
+                .flatMap(expectedVersion -> itemService.delete(id, expectedVersion.orElse(null)))
+                .map(deleted -> deleted
+                        ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                        : new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND));
+    }
+
+    // Same If-Match handling as ItemController; empty for an unconditional write
+    private Mono<Optional<Long>> expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = ItemController.ifMatchVersions(id, ifMatch);
+        if (versions == null || versions.size() == 1) {
+            return Mono.just(Optional.ofNullable(versions == null ? null : versions.get(0)));
+        }
+        return itemService.findVersion(id)
+                .map(current -> {
+                    if (!versions.contains(current)) {
+                        throw new ItemVersionConflictException(id);
+                    }
+                    return Optional.of(current);
+                })
+                .defaultIfEmpty(Optional.of(versions.get(0)));
+    }
+
+    @PostMapping("/process")
+    public ResponseEntity<ProcessingJob> processItems() {
+        ProcessingJob job = itemService.startJob();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/process/{jobId}")
+    public ResponseEntity<?> getProcessingJob(@PathVariable String jobId) {
+        return processingJobService.find(jobId)
+                .<ResponseEntity<?>>map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>("Job not found", HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/process/{jobId}")
+    public ResponseEntity<?> cancelProcessingJob(@PathVariable String jobId) {
+        return processingJobService.cancel(jobId)
+                .<ResponseEntity<?>>map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                .orElse(new ResponseEntity<>("Job not found", HttpStatus.NOT_FOUND));
+    }
+}
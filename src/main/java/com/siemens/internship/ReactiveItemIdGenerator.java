@@ -0,0 +1,64 @@
+package com.siemens.internship;
+
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Assigns ids to new items inserted through R2DBC.
+ *
+ * Item ids come from the item_seq sequence that JPA also uses, with the same pooled-lo scheme:
+ * each sequence value is the first id of a block of {@link #ALLOCATION_SIZE} ids owned by whoever fetched it.
+ * New items also start at version 0, as Hibernate does for the JPA @Version column.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveItemIdGenerator implements BeforeConvertCallback<Item> {
+
+    // Must match the allocationSize of the item_seq generator on Item
+    static final int ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+
+    // Guarded by this: next id to hand out and the (exclusive) end of the current block
+    private long nextId;
+    private long blockEnd;
+
+    public ReactiveItemIdGenerator(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Publisher<Item> onBeforeConvert(Item item, SqlIdentifier table) {
+        if (item.getId() != null) {
+            return Mono.just(item);
+        }
+        return nextId().map(id -> {
+            item.setId(id);
+            item.setVersion(0L);
+            return item;
+        });
+    }
+
+    private Mono<Long> nextId() {
+        synchronized (this) {
+            if (nextId < blockEnd) {
+                return Mono.just(nextId++);
+            }
+        }
+        return databaseClient.sql("SELECT NEXT VALUE FOR item_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(blockStart -> {
+                    synchronized (this) {
+                        nextId = blockStart + 1;
+                        blockEnd = blockStart + ALLOCATION_SIZE;
+                    }
+                    return blockStart;
+                });
+    }
+}
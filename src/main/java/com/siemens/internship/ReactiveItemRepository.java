@@ -0,0 +1,61 @@
+package com.siemens.internship;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of ItemRepository, used by the "reactive" profile
+public interface ReactiveItemRepository extends R2dbcRepository<Item, Long> {
+
+    // Unprocessed items, leaving out those a node running ItemBatchProcessor currently holds a live lease on
+    @Query("SELECT * FROM item WHERE (status IS NULL OR status <> :status)"
+            + " AND (lease_owner IS NULL OR lease_expires_at < CURRENT_TIMESTAMP) ORDER BY id")
+    Flux<Item> findByStatusNot(String status);
+
+    @Query("SELECT COUNT(*) FROM item WHERE status IS NULL OR status <> :status")
+    Mono<Long> countByStatusNot(String status);
+
+    // Keyset pages, one query per filter combination as in ItemRepository
+    Flux<Item> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    Flux<Item> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long after, Limit limit);
+
+    Flux<Item> findByEmailAndIdGreaterThanOrderByIdAsc(String email, Long after, Limit limit);
+
+    Flux<Item> findByStatusAndEmailAndIdGreaterThanOrderByIdAsc(String status, String email, Long after, Limit limit);
+
+    // Only the version, to resolve an If-Match header that lists several ETags
+    @Query("SELECT version FROM item WHERE id = :id")
+    Mono<Long> findVersionById(Long id);
+
+    /*
+        Processing write: only if the item is still at the version that was read and no node leases it,
+        so it neither overwrites a concurrent client update nor an item ItemBatchProcessor is working on.
+    */
+    @Modifying
+    @Query("UPDATE item SET status = :status, version = version + 1 WHERE id = :id AND version = :version"
+            + " AND (lease_owner IS NULL OR lease_expires_at < CURRENT_TIMESTAMP)")
+    Mono<Integer> updateStatusIfVersion(Long id, String status, Long version);
+
+    // Existence check (and version check) and write in one statement; 0 means nothing was written
+    @Modifying
+    @Query("UPDATE item SET name = :name, description = :description, status = :status, email = :email,"
+            + " version = version + 1 WHERE id = :id")
+    Mono<Integer> update(Long id, String name, String description, String status, String email);
+
+    @Modifying
+    @Query("UPDATE item SET name = :name, description = :description, status = :status, email = :email,"
+            + " version = version + 1 WHERE id = :id AND version = :version")
+    Mono<Integer> updateIfVersion(Long id, String name, String description, String status, String email, Long version);
+
+    @Modifying
+    @Query("DELETE FROM item WHERE id = :id")
+    Mono<Integer> deleteIfExists(Long id);
+
+    @Modifying
+    @Query("DELETE FROM item WHERE id = :id AND version = :version")
+    Mono<Integer> deleteIfVersion(Long id, Long version);
+}
@@ -0,0 +1,163 @@
+package com.siemens.internship;
+
+import com.siemens.internship.exceptions.ItemVersionConflictException;
+import com.siemens.internship.exceptions.TooManyJobsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link ItemService}, used by the "reactive" profile.
+ *
+ * The processing pipeline streams unprocessed items from the database and processes them with
+ * {@code flatMap} bounded to items.processing.max-concurrency (or pool-size), so no thread blocks
+ * during the simulated delay and at most that many status updates are in flight.
+ * Jobs are registered and limited by the shared {@link ProcessingJobService}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveItemService {
+
+    private final ReactiveItemRepository itemRepository;
+    private final ProcessingJobService jobService;
+    private final ItemProcessingMetrics metrics;
+    private final int concurrency;
+
+    public ReactiveItemService(ReactiveItemRepository itemRepository, ProcessingJobService jobService,
+                               ItemProcessingProperties properties, ItemProcessingMetrics metrics) {
+        this.itemRepository = itemRepository;
+        this.jobService = jobService;
+        this.metrics = metrics;
+        this.concurrency = properties.getMaxConcurrency() > 0 ? properties.getMaxConcurrency() : properties.getPoolSize();
+    }
+
+    public Flux<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    // Keyset page: at most limit items with id > after, in id order, optionally filtered by status and email
+    public Flux<Item> findPage(long after, int limit, String status, String email) {
+        Limit pageLimit = Limit.of(limit);
+        if (status != null && email != null) {
+            return itemRepository.findByStatusAndEmailAndIdGreaterThanOrderByIdAsc(status, email, after, pageLimit);
+        }
+        if (status != null) {
+            return itemRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, after, pageLimit);
+        }
+        if (email != null) {
+            return itemRepository.findByEmailAndIdGreaterThanOrderByIdAsc(email, after, pageLimit);
+        }
+        return itemRepository.findByIdGreaterThanOrderByIdAsc(after, pageLimit);
+    }
+
+    public Mono<Item> findById(Long id) {
+        return itemRepository.findById(id);
+    }
+
+    // Current version, or empty if no item with this id exists
+    public Mono<Long> findVersion(Long id) {
+        return itemRepository.findVersionById(id);
+    }
+
+    public Mono<Item> save(Item item) {
+        return itemRepository.save(item);
+    }
+
+    /*
+        Emits the updated item, or completes empty if no item with this id exists.
+        With an expected version, only that version is overwritten; otherwise fails with ItemVersionConflictException.
+    */
+    public Mono<Item> update(Long id, Item item, Long expectedVersion) {
+        Mono<Integer> updated = expectedVersion == null
+                ? itemRepository.update(id, item.getName(), item.getDescription(), item.getStatus(), item.getEmail())
+                : itemRepository.updateIfVersion(id, item.getName(), item.getDescription(), item.getStatus(),
+                        item.getEmail(), expectedVersion);
+        return updated.flatMap(count -> {
+            if (count == 0) {
+                return notWritten(id, expectedVersion);
+            }
+            if (expectedVersion != null) {
+                // The new version is known, so the response is built without reading the row back
+                item.setId(id);
+                item.setVersion(expectedVersion + 1);
+                return Mono.just(item);
+            }
+            return itemRepository.findById(id);
+        });
+    }
+
+    // Emits whether the item existed and was deleted; a stale expected version fails as in update
+    public Mono<Boolean> delete(Long id, Long expectedVersion) {
+        Mono<Integer> deleted = expectedVersion == null
+                ? itemRepository.deleteIfExists(id)
+                : itemRepository.deleteIfVersion(id, expectedVersion);
+        return deleted.flatMap(count -> count > 0
+                ? Mono.just(true)
+                : notWritten(id, expectedVersion).then(Mono.just(false)));
+    }
+
+    // A conditional write matched no row: only now is it worth a second query to tell "missing" from "stale"
+    private <T> Mono<T> notWritten(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return itemRepository.existsById(id)
+                .flatMap(exists -> exists ? Mono.error(new ItemVersionConflictException(id)) : Mono.empty());
+    }
+
+    /**
+     * Processes every item whose status is not yet PROCESSED.
+     * A failing item is reported to the listener and skipped; the listener can stop the pipeline.
+     */
+    public Flux<Item> processItems(ItemProcessingListener listener) {
+        return itemRepository.findByStatusNot(ItemBatchProcessor.PROCESSED)
+                .takeWhile(item -> !listener.isCancelled())
+                .flatMap(item -> processItem(item)
+                        .doOnNext(processed -> {
+                            metrics.recordProcessed(1);
+                            listener.onChunkProcessed(List.of(processed));
+                        })
+                        .onErrorResume(error -> {
+                            metrics.recordFailure(error);
+                            listener.onItemFailed(item, error);
+                            return Mono.empty();
+                        }), concurrency);
+    }
+
+    /*
+        The write only succeeds on the version that was read and while no ItemBatchProcessor node leases the item;
+        an item changed or leased in the meantime is left for the next run instead of being overwritten.
+    */
+    private Mono<Item> processItem(Item item) {
+        // Simulate delay, without holding a thread
+        return Mono.delay(Duration.ofMillis(100))
+                .then(itemRepository.updateStatusIfVersion(item.getId(), ItemBatchProcessor.PROCESSED, item.getVersion()))
+                .filter(updated -> updated > 0)
+                .map(updated -> {
+                    item.setStatus(ItemBatchProcessor.PROCESSED);
+                    item.setVersion(item.getVersion() + 1);
+                    return item;
+                });
+    }
+
+    /**
+     * Starts the processing pipeline in the background, as a job of the shared {@link ProcessingJobService}.
+     *
+     * @throws TooManyJobsException if the maximum number of jobs is already running
+     */
+    public ProcessingJob startJob() {
+        return jobService.start(job -> itemRepository.countByStatusNot(ItemBatchProcessor.PROCESSED)
+                .doOnNext(job::start)
+                .thenMany(processItems(job))
+                .then()
+                .doOnSuccess(done -> job.complete())
+                .doOnError(job::fail)
+                .onErrorResume(error -> Mono.empty())
+                .toFuture());
+    }
+}
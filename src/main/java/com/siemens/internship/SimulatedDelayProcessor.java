@@ -0,0 +1,27 @@
+package com.siemens.internship;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Stand-in for a slow external call per item (the original 100 ms simulated delay)
+@Component
+@Order(100)
+public class SimulatedDelayProcessor implements ItemProcessor {
+
+    @Override
+    public String name() {
+        return "simulated-delay";
+    }
+
+    @Override
+    public Item process(Item item) {
+        try {
+            // Simulate delay
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Thread was interrupted", e);
+        }
+        return item;
+    }
+}
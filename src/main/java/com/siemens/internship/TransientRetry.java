@@ -0,0 +1,73 @@
+package com.siemens.internship;
+
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retries with jittered exponential backoff for transient database errors
+ * (lock timeouts, deadlocks, lost connections, ...); any other error is not retried.
+ *
+ * Backoff uses "equal jitter": half of the exponential delay is fixed and half is random, so retries of items that
+ * failed together spread out instead of hitting the database again at the same moment.
+ */
+public class TransientRetry {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public TransientRetry(ItemProcessingProperties.Retry settings) {
+        this.maxAttempts = Math.max(1, settings.getMaxAttempts());
+        this.initialBackoffMillis = settings.getInitialBackoff().toMillis();
+        this.maxBackoffMillis = settings.getMaxBackoff().toMillis();
+    }
+
+    // Whether another attempt should follow the given failed attempt (1-based)
+    public boolean shouldRetry(Throwable error, int attempt) {
+        return attempt < maxAttempts && isTransient(error);
+    }
+
+    // Delay before the retry following the given failed attempt (1-based)
+    public long backoffMillis(int attempt) {
+        long exponential = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(exponential - half + 1);
+    }
+
+    // Runs the action on the calling thread, sleeping between attempts
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (!shouldRetry(e, attempt)) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(backoffMillis(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
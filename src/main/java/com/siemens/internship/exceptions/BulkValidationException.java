@@ -0,0 +1,18 @@
+package com.siemens.internship.exceptions;
+
+import java.util.Map;
+
+// Thrown when one or more elements of a bulk request are invalid; carries the field errors per element index
+public class BulkValidationException extends RuntimeException {
+
+    private final Map<Integer, Map<String, String>> errors;
+
+    public BulkValidationException(Map<Integer, Map<String, String>> errors) {
+        super("Bulk request contains " + errors.size() + " invalid element(s)");
+        this.errors = errors;
+    }
+
+    public Map<Integer, Map<String, String>> getErrors() {
+        return errors;
+    }
+}
@@ -1,10 +1,15 @@
 package com.siemens.internship.exceptions;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,4 +29,66 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    // Same structured validation response for the WebFlux controller of the "reactive" profile
+    public ResponseEntity<Map<String, String>> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    // Handle invalid request parameters (e.g. an out-of-range page limit) with the same structured response
+    public ResponseEntity<Map<String, String>> handleParameterValidationExceptions(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+
+        ex.getAllValidationResults().forEach(result ->
+                result.getResolvableErrors().forEach(error ->
+                        errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()))
+        );
+
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BulkValidationException.class)
+    // Handle invalid elements of a bulk request: field errors keyed by element index
+    public ResponseEntity<Map<Integer, Map<String, String>>> handleBulkValidationExceptions(BulkValidationException ex) {
+        return new ResponseEntity<>(ex.getErrors(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyJobsException.class)
+    // Admission control for processing jobs: 429 Too Many Requests, with a hint when to retry
+    public ResponseEntity<Map<String, String>> handleTooManyJobsException(TooManyJobsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(UnsupportedParametersException.class)
+    // Parameters that would otherwise be silently ignored; JSON even if the client only accepts NDJSON, so it sees why
+    public ResponseEntity<Map<String, String>> handleUnsupportedParametersException(UnsupportedParametersException ex) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    // The async request executor (streamed lists) is saturated: 503, JSON even if the client only accepts NDJSON
+    public ResponseEntity<Map<String, String>> handleTaskRejectedException(TaskRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "Too many streamed requests in progress"));
+    }
+
+    @ExceptionHandler(ItemVersionConflictException.class)
+    // Failed If-Match precondition: the client's copy is stale and must be re-read before retrying
+    public ResponseEntity<Map<String, String>> handleItemVersionConflictException(ItemVersionConflictException ex) {
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.PRECONDITION_FAILED);
+    }
 }
@@ -0,0 +1,9 @@
+package com.siemens.internship.exceptions;
+
+// Thrown when a conditional write (If-Match) targets an item whose version has changed in the meantime
+public class ItemVersionConflictException extends RuntimeException {
+
+    public ItemVersionConflictException(Long id) {
+        super("Item " + id + " was modified by another request");
+    }
+}
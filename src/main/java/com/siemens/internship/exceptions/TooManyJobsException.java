@@ -0,0 +1,9 @@
+package com.siemens.internship.exceptions;
+
+// Thrown when a processing job is requested while the maximum number of jobs is already running
+public class TooManyJobsException extends RuntimeException {
+
+    public TooManyJobsException(int maxConcurrentJobs) {
+        super("Too many processing jobs running (limit " + maxConcurrentJobs + "), try again later");
+    }
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship.exceptions;
+
+import java.util.List;
+
+// Thrown when a request combines query parameters that the chosen variant of an endpoint cannot honour
+public class UnsupportedParametersException extends RuntimeException {
+
+    public UnsupportedParametersException(String variant, List<String> parameters) {
+        super(variant + " cannot be combined with: " + String.join(", ", parameters));
+    }
+}
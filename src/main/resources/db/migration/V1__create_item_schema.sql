@@ -0,0 +1,38 @@
+-- Baseline schema of the prod profile; matches the JPA mappings (checked at startup with ddl-auto=validate)
+
+-- Ids are handed out in blocks of 50 (pooled-lo), see Item and DeadLetterItem
+create sequence item_seq start with 1 increment by 50;
+create sequence item_dead_letter_seq start with 1 increment by 50;
+
+create table item (
+    id          bigint       not null,
+    version     bigint,
+    name        varchar(255) not null,
+    description varchar(255),
+    status      varchar(255),
+    email       varchar(255) not null,
+    primary key (id)
+);
+
+-- Keyset pages filtered by status or email, and the processor's "not yet processed" scan
+create index idx_item_status_id on item (status, id);
+create index idx_item_email_id on item (email, id);
+
+create table item_dead_letter (
+    id        bigint        not null,
+    item_id   bigint,
+    stage     varchar(255),
+    error     varchar(1000),
+    attempts  integer       not null,
+    failed_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create index idx_item_dead_letter_item_id on item_dead_letter (item_id);
+
+create table processing_checkpoint (
+    name       varchar(255) not null,
+    last_id    bigint,
+    updated_at timestamp(6) with time zone,
+    primary key (name)
+);
@@ -0,0 +1,3 @@
+-- Row leases that let several nodes process the item table without claiming the same items (see ItemBatchProcessor)
+alter table item add column lease_owner varchar(255);
+alter table item add column lease_expires_at timestamp(6) with time zone;
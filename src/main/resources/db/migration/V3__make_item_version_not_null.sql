@@ -0,0 +1,4 @@
+-- Every item has a version: the processor's write-back and the ETags compare it, which never matches a NULL
+update item set version = 0 where version is null;
+alter table item alter column version set default 0;
+alter table item alter column version set not null;
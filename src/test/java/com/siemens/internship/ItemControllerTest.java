@@ -2,13 +2,23 @@ package com.siemens.internship;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -23,6 +33,16 @@ class ItemControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
     // Test: Create an item with valid data and expect 201 Created
     @Test
     void createItem_withValidData_returnsCreated() throws Exception {
@@ -77,6 +97,126 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.description").value("Description must be smaller than 255 characters"));
     }
 
+    // Test: Create several items in one bulk request and expect 201 Created with generated ids
+    @Test
+    void createItems_bulk_returnsCreated() throws Exception {
+        List<Item> items = List.of(
+                new Item(null, "Bulk1", "Desc", "NEW", "bulk1@example.com"),
+                new Item(null, "Bulk2", "Desc", "NEW", "bulk2@example.com"));
+
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[1].name").value("Bulk2"));
+    }
+
+    // Test: Create items from an NDJSON stream and expect 201 Created
+    @Test
+    void createItems_bulkNdjson_returnsCreated() throws Exception {
+        String body = objectMapper.writeValueAsString(new Item(null, "Nd1", "Desc", "NEW", "nd1@example.com")) + "\n"
+                + objectMapper.writeValueAsString(new Item(null, "Nd2", "Desc", "NEW", "nd2@example.com")) + "\n";
+
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    // Test: Bulk create with one invalid element and expect 400 Bad Request with errors keyed by index
+    @Test
+    void createItems_bulkWithInvalidElement_returnsBadRequest() throws Exception {
+        List<Item> items = List.of(
+                new Item(null, "Valid", "Desc", "NEW", "valid@example.com"),
+                new Item(null, "Invalid", "Desc", "NEW", "invalid-email"));
+
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['1'].email").value("Email should be valid"))
+                .andExpect(jsonPath("$['0']").doesNotExist());
+    }
+
+    // Test: Bulk create with a null element and expect 400 Bad Request for that element instead of a server error
+    @Test
+    void createItems_bulkWithNullElement_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['0'].item").value("must not be null"));
+    }
+
+    // Test: Bulk update and bulk delete existing items
+    @Test
+    void updateAndDeleteItems_bulk_succeeds() throws Exception {
+        String response = mockMvc.perform(post("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new Item(null, "Before1", "Desc", "NEW", "before1@example.com"),
+                                new Item(null, "Before2", "Desc", "NEW", "before2@example.com")))))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Item> created = List.of(objectMapper.readValue(response, Item[].class));
+        created.forEach(item -> item.setName("After"));
+
+        mockMvc.perform(put("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", everyItem(is("After"))));
+
+        List<Long> ids = created.stream().map(Item::getId).toList();
+        mockMvc.perform(delete("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/items/" + ids.get(0)))
+                .andExpect(status().isNoContent());
+    }
+
+    // Test: Bulk update of a non-existing item and expect 400 Bad Request for that element
+    @Test
+    void updateItems_bulkWithUnknownId_returnsBadRequest() throws Exception {
+        List<Item> items = List.of(new Item(999999L, "Ghost", "Desc", "NEW", "ghost@example.com"));
+
+        mockMvc.perform(put("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['0'].id").value("Item not found"));
+    }
+
+    // Test: Bulk update naming one id twice and expect 400 Bad Request for the repeated element, with nothing written
+    @Test
+    void updateItems_bulkWithDuplicateId_returnsBadRequest() throws Exception {
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(null, "Original", "Desc", "NEW", "dup@example.com"))))
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(response, Item.class).getId();
+        List<Item> items = List.of(
+                new Item(id, "A", "Desc", "NEW", "dup@example.com"),
+                new Item(id, "B", "Desc", "NEW", "dup@example.com"));
+
+        mockMvc.perform(put("/api/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['1'].id").value("Duplicate id, also given at index 0"))
+                .andExpect(jsonPath("$['0']").doesNotExist());
+
+        mockMvc.perform(get("/api/items/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Original"))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
     // Test: Get all items and expect 200 OK
     @Test
     void getAllItems_returnsOk() throws Exception {
@@ -84,6 +224,102 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    // Test: Page through items filtered by email, following the rel="next" cursor
+    @Test
+    void getAllItems_withLimitAndFilter_returnsKeysetPages() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            Item item = new Item(null, "Paged" + i, "Desc", "PAGED", "paged@example.com");
+            mockMvc.perform(post("/api/items")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(item)));
+        }
+
+        String firstPage = mockMvc.perform(get("/api/items")
+                        .param("email", "paged@example.com")
+                        .param("status", "PAGED")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("Paged1"))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andReturn().getResponse().getContentAsString();
+
+        long lastId = objectMapper.readTree(firstPage).get(1).get("id").asLong();
+
+        mockMvc.perform(get("/api/items")
+                        .param("email", "paged@example.com")
+                        .param("limit", "2")
+                        .param("after", String.valueOf(lastId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Paged3"))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    // Test: Request a page with an out-of-range limit and expect 400 Bad Request
+    @Test
+    void getAllItems_withInvalidLimit_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.limit").exists());
+    }
+
+    // Test: Stream all items as NDJSON, one JSON document per line
+    @Test
+    void getAllItems_asNdjson_streamsOneItemPerLine() throws Exception {
+        Item item = new Item(null, "Streamed", "Desc", "NEW", "stream@example.com");
+        mockMvc.perform(post("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(item)));
+
+        MvcResult result = mockMvc.perform(get("/api/items").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertThat(lines).allSatisfy(line -> assertThat(objectMapper.readTree(line).has("id")).isTrue());
+        assertThat(body).contains("\"name\":\"Streamed\"");
+    }
+
+    // Test: Stream all items as a chunked JSON array
+    @Test
+    void getAllItems_asStreamedArray_returnsJsonArray() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    // Test: Streamed lists reject pagination and filter parameters instead of ignoring them
+    @Test
+    void getAllItems_streamedWithPageParameters_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items").param("stream", "true").param("limit", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("limit")));
+        mockMvc.perform(get("/api/items").param("status", "NEW").accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("status")));
+    }
+
+    // Test: Streamed lists run on the bounded applicationTaskExecutor, not on a new thread per request
+    @Test
+    void asyncRequests_runOnBoundedApplicationTaskExecutor() {
+        Object executor = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+
+        assertThat(executor).isSameAs(applicationTaskExecutor);
+        assertThat(applicationTaskExecutor.getMaxPoolSize()).isEqualTo(16);
+        assertThat(applicationTaskExecutor.getQueueCapacity()).isEqualTo(16);
+        assertThat(applicationTaskExecutor.getThreadNamePrefix()).isEqualTo("mvc-async-");
+    }
+
     // Test: Create and then retrieve an item by ID, expect 200 OK
     @Test
     void getItemById_whenExists_returnsOk() throws Exception {
@@ -224,4 +460,307 @@ class ItemControllerTest {
         mockMvc.perform(delete("/api/items/999999"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    // Test: GET returns the version as ETag, and a matching If-None-Match returns 304 Not Modified
+    @Test
+    void getItemById_withMatchingIfNoneMatch_returnsNotModified() throws Exception {
+        Item item = new Item(null, "Tagged", "Desc", "NEW", "tagged@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        String etag = mockMvc.perform(get("/api/items/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/items/" + id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    // Test: PUT with the current ETag succeeds and returns a new one; replaying the old ETag returns 412
+    @Test
+    void updateItem_withIfMatch_detectsConflictingWrites() throws Exception {
+        Item item = new Item(null, "Versioned", "Desc", "NEW", "versioned@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+        item.setName("First Writer");
+
+        mockMvc.perform(put("/api/items/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        item.setName("Second Writer");
+
+        mockMvc.perform(put("/api/items/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/items/" + id))
+                .andExpect(jsonPath("$.name").value("First Writer"));
+    }
+
+    // Test: DELETE with a stale ETag returns 412 and keeps the item; with the current ETag it deletes it
+    @Test
+    void deleteItem_withIfMatch_requiresCurrentVersion() throws Exception {
+        Item item = new Item(null, "Guarded", "Desc", "NEW", "guarded@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"7\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"0\""))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test: If-Match compares strongly, so a weak ETag never matches; a list matches if any listed ETag is current
+    @Test
+    void deleteItem_withIfMatchList_usesStrongComparison() throws Exception {
+        Item item = new Item(null, "Listed", "Desc", "NEW", "listed@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "W/\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"3\", W/\"0\", \"4\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"3\", \"0\""))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(delete("/api/items/" + id).header("If-Match", "\"3\", \"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test: PATCH changes only the given fields, clears explicit nulls and leaves the others untouched
+    @Test
+    void patchItem_withMergePatch_updatesOnlyGivenFields() throws Exception {
+        Item item = new Item(null, "Patchable", "Keep or clear", "NEW", "patch@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(patch("/api/items/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Patched\", \"description\": null}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(get("/api/items/" + id))
+                .andExpect(jsonPath("$.name").value("Patched"))
+                .andExpect(jsonPath("$.description").value(nullValue()))
+                .andExpect(jsonPath("$.email").value("patch@example.com"))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    // Test: PATCH with invalid or read-only fields returns 400 with errors keyed by field; unknown ids return 404
+    @Test
+    void patchItem_withInvalidFields_returnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/items/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"email\": \"invalid-email\", \"version\": 5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.email").value("Email should be valid"))
+                .andExpect(jsonPath("$.version").value("Unknown or read-only field"));
+
+        mockMvc.perform(patch("/api/items/999999")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Ghost\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test: The status path changes only the status and bumps the version
+    @Test
+    void updateItemStatus_whenExists_returnsNoContent() throws Exception {
+        Item item = new Item(null, "Flip", "Desc", "NEW", "flip@example.com");
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andReturn().getResponse().getContentAsString();
+
+        Long id = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(put("/api/items/" + id + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PROCESSED\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/items/" + id))
+                .andExpect(jsonPath("$.status").value("PROCESSED"))
+                .andExpect(jsonPath("$.name").value("Flip"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(put("/api/items/999999/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PROCESSED\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test: A subscriber of the event stream is notified when an item is created
+    @Test
+    void streamEvents_receivesItemChanges() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/items/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new Item(null, "Announced", "Desc", "NEW", "announced@example.com"))))
+                .andExpect(status().isCreated());
+
+        String events = "";
+        for (int i = 0; i < 100 && !events.contains("Announced"); i++) {
+            Thread.sleep(20);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events).contains("event:item.created").contains("\"name\":\"Announced\"");
+    }
+
+    // Test: A sparse fieldset returns only the requested fields (plus the id) and pages like the full list
+    @Test
+    void getItems_withFields_returnsOnlyRequestedFields() throws Exception {
+        Long first = createItem(new Item(null, "Lean one", "Not selected", "LEAN", "lean@example.com"));
+        createItem(new Item(null, "Lean two", "Not selected", "LEAN", "lean@example.com"));
+
+        mockMvc.perform(get("/api/items").param("fields", "name, status").param("status", "LEAN").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(first.intValue()))
+                .andExpect(jsonPath("$[0].name").value("Lean one"))
+                .andExpect(jsonPath("$[0].status").value("LEAN"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(header().string("Link", containsString("after=" + first)));
+
+        mockMvc.perform(get("/api/items").param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields").value("Unknown fields: password"));
+    }
+
+    // Test: A sparse fieldset cannot be streamed; asking for one as NDJSON or a streamed array answers 400, not 406
+    @Test
+    void getItems_streamedWithFields_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items").param("fields", "id,name").accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", containsString("fields")));
+        mockMvc.perform(get("/api/items").param("fields", "id,name").param("stream", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("fields")));
+    }
+
+    // Test: Search ranks name matches first, pages with offset/limit, and follows patches and deletes
+    @Test
+    void searchItems_ranksPagesAndFollowsWrites() throws Exception {
+        Long inName = createItem(new Item(null, "Quokka lantern", "Brass", "NEW", "search@example.com"));
+        Long inDescription = createItem(new Item(null, "Lantern", "For a quokka", "NEW", "search@example.com"));
+        createItem(new Item(null, "Quokka plush", "Soft toy", "NEW", "search@example.com"));
+
+        mockMvc.perform(get("/api/items/search").param("q", "QUOKKA lantern"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$[*].id", contains(inName.intValue(), inDescription.intValue())));
+        mockMvc.perform(get("/api/items/search").param("q", "quokka").param("offset", "1").param("limit", "1"))
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(patch("/api/items/" + inDescription)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"description\": \"For a wombat\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/items/" + inName))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/items/search").param("q", "quokka lantern"))
+                .andExpect(header().string("X-Total-Count", "0"));
+        mockMvc.perform(get("/api/items/search").param("q", "wombat"))
+                .andExpect(jsonPath("$[*].id", contains(inDescription.intValue())));
+        mockMvc.perform(get("/api/items/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createItem(Item item) throws Exception {
+        String response = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    // Test: Start processing, expect 202 Accepted with a job handle, then poll until the job completes
+    @Test
+    void processItems_returnsAcceptedAndJobCompletes() throws Exception {
+        String response = mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(response).get("jobId").asText();
+
+        String status = "QUEUED";
+        for (int i = 0; i < 100 && (status.equals("QUEUED") || status.equals("RUNNING")); i++) {
+            Thread.sleep(100);
+            String job = mockMvc.perform(get("/api/items/process/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(job).get("status").asText();
+        }
+
+        mockMvc.perform(get("/api/items/process/" + jobId))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.progress").value(100.0));
+    }
+
+    // Test: Poll or cancel an unknown job and expect 404 Not Found
+    @Test
+    void processingJob_whenNotExists_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/items/process/unknown-job"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/items/process/unknown-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Test: Once a request has been served, the time-to-first-request gauge holds the JVM uptime at that point
+    @Test
+    void firstRequest_isRecordedAsStartupMetric() throws Exception {
+        mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("application.first.request.time").timeGauge().value())
+                .isPositive()
+                .isLessThanOrEqualTo(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,184 @@
+package com.siemens.internship;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemEventBusTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Test: A reconnecting client receives exactly the buffered events after its Last-Event-ID
+    @Test
+    void subscribe_withLastEventId_resumesAfterIt() throws Exception {
+        ItemEventBus bus = new ItemEventBus(new ItemEventProperties(), OBJECT_MAPPER, new SimpleMeterRegistry());
+        bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", 1));
+        bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", 2));
+        bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", 3));
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        bus.subscribe(emitter, 1L);
+        bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", 4));
+
+        awaitUntil(() -> emitter.events.size() == 3);
+        assertThat(emitter.events).containsExactly("2:item.deleted", "3:item.deleted", "4:item.deleted");
+        bus.destroy();
+    }
+
+    // Test: A client whose Last-Event-ID is no longer buffered first gets a reset event, then the buffered events
+    @Test
+    void subscribe_withExpiredLastEventId_sendsReset() throws Exception {
+        ItemEventProperties properties = new ItemEventProperties();
+        properties.setBufferSize(4);
+        ItemEventBus bus = new ItemEventBus(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        for (int i = 1; i <= 10; i++) {
+            bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", i));
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        bus.subscribe(emitter, 2L);
+
+        awaitUntil(() -> emitter.events.size() == 5);
+        assertThat(emitter.events)
+                .containsExactly("6:reset", "7:item.deleted", "8:item.deleted", "9:item.deleted", "10:item.deleted");
+        bus.destroy();
+    }
+
+    // Test: A consumer that falls more than the buffer size behind is disconnected instead of buffering for it
+    @Test
+    void publish_toSlowConsumer_dropsIt() throws Exception {
+        ItemEventProperties properties = new ItemEventProperties();
+        properties.setBufferSize(4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ItemEventBus bus = new ItemEventBus(properties, OBJECT_MAPPER, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        bus.subscribe(emitter, null);
+
+        bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", 1));
+        awaitUntil(() -> emitter.sending);
+        for (int i = 2; i <= 10; i++) {
+            bus.publish(ItemEvent.ITEM_DELETED, Map.of("id", i));
+        }
+        release.countDown();
+
+        awaitUntil(() -> emitter.completed);
+        assertThat(emitter.events).containsExactly("1:item.deleted");
+        assertThat(bus.getSubscriberCount()).isZero();
+        assertThat(registry.get("items.events.dropped").counter().count()).isEqualTo(1);
+        bus.destroy();
+    }
+
+    // Test: A replayed event carries its data as it was published, not the current state of a mutable payload
+    @Test
+    void subscribe_replaysDataAsPublished() throws Exception {
+        ItemEventBus bus = new ItemEventBus(new ItemEventProperties(), OBJECT_MAPPER, new SimpleMeterRegistry());
+        Map<String, Object> progress = new HashMap<>(Map.of("processedItems", 1));
+        bus.publish(ItemEvent.JOB_PROGRESS, progress);
+        progress.put("processedItems", 2);
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        bus.subscribe(emitter, 0L);
+
+        awaitUntil(() -> emitter.data.size() == 1);
+        assertThat(emitter.data).containsExactly("{\"processedItems\":1}");
+        bus.destroy();
+    }
+
+    // Test: Subscribers racing for the last free slots never exceed max-subscribers
+    @Test
+    void subscribe_concurrently_respectsMaxSubscribers() throws Exception {
+        ItemEventProperties properties = new ItemEventProperties();
+        properties.setMaxSubscribers(2);
+        ItemEventBus bus = new ItemEventBus(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(clients.submit(() -> {
+                start.await();
+                try {
+                    bus.subscribe(new RecordingEmitter(null), null);
+                    accepted.incrementAndGet();
+                } catch (RejectedExecutionException e) {
+                    // Over the limit
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(accepted).hasValue(2);
+        assertThat(bus.getSubscriberCount()).isEqualTo(2);
+        clients.shutdown();
+        bus.destroy();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    // Records "<id>:<event name>" and the data of every sent event; optionally blocks in the first send like a stalled client
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<String> data = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String text = builder.build().stream()
+                    .map(part -> part.getData() instanceof String string ? string : "")
+                    .collect(Collectors.joining());
+            String id = text.substring(text.indexOf("id:") + 3, text.indexOf('\n', text.indexOf("id:")));
+            String name = text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:")));
+            events.add(id + ":" + name);
+            data.add(text.substring(text.indexOf("data:") + 5, text.indexOf('\n', text.indexOf("data:"))));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
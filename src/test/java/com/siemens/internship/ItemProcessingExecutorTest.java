@@ -0,0 +1,87 @@
+package com.siemens.internship;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemProcessingExecutorTest {
+
+    // Test: Without an explicit limit the concurrency is sized to the Hikari pool
+    @Test
+    void maxConcurrency_defaultsToHikariPoolSize() throws Exception {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(7);
+
+        ItemProcessingExecutor executor = new ItemProcessingExecutor(new ItemProcessingProperties(), dataSource);
+
+        assertThat(executor.getMaxConcurrency()).isEqualTo(7);
+        executor.destroy();
+    }
+
+    // Test: No more tasks than the configured limit run at the same time, in both modes
+    @Test
+    void execute_neverExceedsMaxConcurrency() throws Exception {
+        for (ItemProcessingProperties.ExecutorMode mode : ItemProcessingProperties.ExecutorMode.values()) {
+            ItemProcessingProperties properties = new ItemProcessingProperties();
+            properties.setExecutorMode(mode);
+            properties.setPoolSize(8);
+            properties.setMaxConcurrency(3);
+            ItemProcessingExecutor executor = new ItemProcessingExecutor(properties, new HikariDataSource());
+
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            assertThat(peak.get()).isBetween(1, 3);
+            executor.destroy();
+        }
+    }
+
+    // Test: With the REJECT policy, submissions beyond running + queued capacity are shed
+    @Test
+    void execute_withRejectPolicy_shedsItemsWhenQueueIsFull() throws Exception {
+        ItemProcessingProperties properties = new ItemProcessingProperties();
+        properties.setPoolSize(1);
+        properties.setMaxConcurrency(1);
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(ItemProcessingProperties.OverflowPolicy.REJECT);
+        ItemProcessingExecutor executor = new ItemProcessingExecutor(properties, new HikariDataSource());
+
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blocking);
+        executor.execute(blocking);
+
+        assertThatThrownBy(() -> executor.execute(blocking)).isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        executor.destroy();
+    }
+}
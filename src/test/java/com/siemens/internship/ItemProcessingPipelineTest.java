@@ -0,0 +1,259 @@
+package com.siemens.internship;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemProcessingPipelineTest {
+
+    private ItemProcessingProperties properties;
+    private ItemProcessingExecutor executor;
+    private SimpleMeterRegistry registry;
+    private ItemProcessingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemProcessingProperties();
+        properties.setMaxConcurrency(4);
+        executor = new ItemProcessingExecutor(properties, new HikariDataSource());
+        registry = new SimpleMeterRegistry();
+        metrics = new ItemProcessingMetrics(registry, executor);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.destroy();
+    }
+
+    // Test: Items pass the stages in order, CPU stages run on their fork-join pool, failed items are dropped and reported
+    @Test
+    void process_runsStagesInOrderOnTheirExecutors() throws Exception {
+        List<String> cpuThreads = Collections.synchronizedList(new ArrayList<>());
+        ItemProcessor upperCase = stage("upper-case", ItemProcessor.Kind.CPU, item -> {
+            cpuThreads.add(Thread.currentThread().getName());
+            assertThat(Thread.currentThread()).isInstanceOf(ForkJoinWorkerThread.class);
+            item.setName(item.getName().toUpperCase());
+            return item;
+        });
+        ItemProcessor lookup = stage("lookup", ItemProcessor.Kind.IO, item -> {
+            if (item.getName().equals("BROKEN")) {
+                throw new IllegalStateException("lookup failed");
+            }
+            item.setDescription(item.getName() + " enriched");
+            return item;
+        });
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(upperCase, lookup), properties, metrics);
+        List<Item> failed = Collections.synchronizedList(new ArrayList<>());
+
+        List<Item> processed = pipeline.process(
+                List.of(item(1L, "first"), item(2L, "broken"), item(3L, "third")), executor, new ItemProcessingListener() {
+                    @Override
+                    public void onChunkProcessed(List<Item> items) {
+                    }
+
+                    @Override
+                    public void onItemFailed(Item item, Throwable error) {
+                        failed.add(item);
+                    }
+                });
+
+        assertThat(processed).extracting(Item::getDescription).containsExactly("FIRST enriched", "THIRD enriched");
+        assertThat(failed).extracting(Item::getId).containsExactly(2L);
+        assertThat(cpuThreads).allMatch(name -> name.startsWith("item-stage-upper-case-"));
+        assertThat(registry.get("items.processing.stage").tag("stage", "lookup").timer().count()).isEqualTo(3);
+        pipeline.destroy();
+    }
+
+    // Test: A batch moves on to the next stage while later batches are still in the first one
+    @Test
+    void process_handsBatchesOverWithoutWaitingForTheWholeChunk() throws Exception {
+        properties.setHandoffBatchSize(1);
+        CountDownLatch secondStageStarted = new CountDownLatch(1);
+        List<Boolean> overlapped = Collections.synchronizedList(new ArrayList<>());
+        ItemProcessor first = stage("first", ItemProcessor.Kind.IO, item -> {
+            if (item.getId() == 2L) {
+                // Only completes if item 1 reaches the second stage while item 2 is still in the first one
+                overlapped.add(secondStageStarted.await(5, TimeUnit.SECONDS));
+            }
+            return item;
+        });
+        ItemProcessor second = stage("second", ItemProcessor.Kind.IO, item -> {
+            secondStageStarted.countDown();
+            return item;
+        });
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(first, second), properties, metrics);
+
+        List<Item> processed = pipeline.process(List.of(item(1L, "a"), item(2L, "b")), executor, items -> {
+        });
+
+        assertThat(processed).extracting(Item::getId).containsExactly(1L, 2L);
+        assertThat(overlapped).containsExactly(true);
+        pipeline.destroy();
+    }
+
+    // Test: A hung item times out and transient errors are retried, so the chunk finishes in bounded time
+    @Test
+    void process_timesOutHungItemsAndRetriesTransientErrors() throws Exception {
+        properties.setItemTimeout(Duration.ofMillis(200));
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        AtomicInteger flakyAttempts = new AtomicInteger();
+        ItemProcessor unreliable = stage("unreliable", ItemProcessor.Kind.IO, item -> {
+            if (item.getName().equals("hung")) {
+                Thread.sleep(2_000);
+            } else if (item.getName().equals("flaky") && flakyAttempts.incrementAndGet() < 3) {
+                throw new TransientDataAccessResourceException("connection reset");
+            } else if (item.getName().equals("broken")) {
+                throw new TransientDataAccessResourceException("still down");
+            }
+            return item;
+        });
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(unreliable), properties, metrics);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        List<Item> processed = pipeline.process(
+                List.of(item(1L, "hung"), item(2L, "flaky"), item(3L, "broken")), executor, new ItemProcessingListener() {
+                    @Override
+                    public void onChunkProcessed(List<Item> items) {
+                    }
+
+                    @Override
+                    public void onItemFailed(Item item, Throwable error) {
+                        failures.add(error);
+                    }
+                });
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(processed).extracting(Item::getName).containsExactly("flaky");
+        assertThat(flakyAttempts.get()).isEqualTo(3);
+        assertThat(failures).hasSize(2).allSatisfy(failure -> assertThat(failure).isInstanceOf(ItemFailedException.class));
+        assertThat(failures).extracting(failure -> (Object) failure.getCause().getClass())
+                .containsExactlyInAnyOrder(TimeoutException.class, TransientDataAccessResourceException.class);
+        assertThat(failures).extracting(failure -> ((ItemFailedException) failure).getAttempts())
+                .containsExactlyInAnyOrder(1, 3);
+        assertThat(registry.get("items.processing.retries").tag("stage", "unreliable").counter().count()).isEqualTo(4);
+        pipeline.destroy();
+    }
+
+    // Test: Hung items are interrupted at the timeout and give their capacity back, so a small executor does not lock up
+    @Test
+    void process_interruptsTimedOutItemsAndReleasesTheirCapacity() throws Exception {
+        properties.setMaxConcurrency(1);
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setItemTimeout(Duration.ofMillis(200));
+        ItemProcessingExecutor smallExecutor = new ItemProcessingExecutor(properties, new HikariDataSource());
+        AtomicInteger interrupted = new AtomicInteger();
+        ItemProcessor hanging = stage("hanging", ItemProcessor.Kind.IO, item -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return item;
+        });
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(hanging), properties, metrics);
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        List<Item> processed = pipeline.process(
+                List.of(item(1L, "a"), item(2L, "b"), item(3L, "c"), item(4L, "d")), smallExecutor, new ItemProcessingListener() {
+                    @Override
+                    public void onChunkProcessed(List<Item> items) {
+                    }
+
+                    @Override
+                    public void onItemFailed(Item item, Throwable error) {
+                        failures.add(error);
+                    }
+                });
+
+        // Without the interrupts the third item could not even be submitted before the first one's 10 s sleep ended
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(processed).isEmpty();
+        assertThat(failures).hasSize(4)
+                .allSatisfy(failure -> assertThat(failure.getCause()).isInstanceOf(TimeoutException.class));
+        // Items that timed out while queued are skipped, not started and interrupted
+        assertThat(interrupted.get()).isBetween(1, 4);
+        smallExecutor.destroy();
+        assertThat(smallExecutor.getActiveCount()).isZero();
+        pipeline.destroy();
+    }
+
+    // Test: Items rejected by admission control are shed, not failed, and counted
+    @Test
+    void process_shedsRejectedItemsWithoutReportingThemAsFailed() throws Exception {
+        properties.setMaxConcurrency(1);
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(0);
+        properties.setOverflowPolicy(ItemProcessingProperties.OverflowPolicy.REJECT);
+        ItemProcessingExecutor rejectingExecutor = new ItemProcessingExecutor(properties, new HikariDataSource());
+        ItemProcessor slow = stage("slow", ItemProcessor.Kind.IO, item -> {
+            Thread.sleep(200);
+            return item;
+        });
+        ItemProcessingPipeline pipeline = new ItemProcessingPipeline(List.of(slow), properties, metrics);
+        List<Item> failed = Collections.synchronizedList(new ArrayList<>());
+
+        List<Item> processed = pipeline.process(List.of(item(1L, "a"), item(2L, "b")), rejectingExecutor,
+                new ItemProcessingListener() {
+                    @Override
+                    public void onChunkProcessed(List<Item> items) {
+                    }
+
+                    @Override
+                    public void onItemFailed(Item item, Throwable error) {
+                        failed.add(item);
+                    }
+                });
+
+        assertThat(processed).extracting(Item::getId).containsExactly(1L);
+        assertThat(failed).isEmpty();
+        assertThat(registry.get("items.processing.shed").counter().count()).isEqualTo(1);
+        rejectingExecutor.destroy();
+        pipeline.destroy();
+    }
+
+    private static Item item(Long id, String name) {
+        return new Item(id, name, null, "NEW", name + "@example.com");
+    }
+
+    private interface StageFunction {
+        Item apply(Item item) throws Exception;
+    }
+
+    private static ItemProcessor stage(String name, ItemProcessor.Kind kind, StageFunction function) {
+        return new ItemProcessor() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Kind kind() {
+                return kind;
+            }
+
+            @Override
+            public Item process(Item item) throws Exception {
+                return function.apply(item);
+            }
+        };
+    }
+}
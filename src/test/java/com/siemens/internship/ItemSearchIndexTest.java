@@ -0,0 +1,53 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+    // The index is filled directly; rebuilding from the table is covered by the application tests
+    private final ItemSearchIndex index = new ItemSearchIndex(null, new ItemSearchProperties());
+
+    // Test: Terms are lower-cased runs of letters and digits, and repeated terms add up
+    @Test
+    void termWeights_splitsOnNonAlphanumerics() {
+        assertThat(ItemSearchIndex.termWeights("Café-Bar, café 42!", 1, new HashMap<>()))
+                .containsOnly(Map.entry("café", 2), Map.entry("bar", 1), Map.entry("42", 1));
+    }
+
+    // Test: Only items containing all terms match; name hits rank above description hits, older items win ties
+    @Test
+    void search_requiresAllTermsAndRanksByWeight() {
+        index.index(new Item(1L, "Red chair", "Wooden", null, null));
+        index.index(new Item(2L, "Chair", "A red one", null, null));
+        index.index(new Item(3L, "Red table", "Wooden", null, null));
+        index.index(new Item(4L, "Red chair", "Plastic", null, null));
+
+        ItemSearchIndex.Hits hits = index.search("red CHAIR", 0, 10);
+
+        assertThat(hits.ids()).containsExactly(1L, 4L, 2L);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(index.search("red chair", 1, 1).ids()).containsExactly(4L);
+        assertThat(index.search("red sofa", 0, 10).total()).isZero();
+        assertThat(index.search("  ", 0, 10).ids()).isEmpty();
+    }
+
+    // Test: Re-indexing replaces an item's old terms, and removing it drops it from every term
+    @Test
+    void indexAndRemove_keepPostingsInSync() {
+        index.index(new Item(5L, "Lamp", "Desk", null, null));
+        index.index(new Item(5L, "Lamp", "Floor", null, null));
+
+        assertThat(index.search("desk", 0, 10).total()).isZero();
+        assertThat(index.search("floor lamp", 0, 10).ids()).containsExactly(5L);
+
+        index.remove(5L);
+
+        assertThat(index.search("lamp", 0, 10).total()).isZero();
+        assertThat(index.size()).isZero();
+    }
+}
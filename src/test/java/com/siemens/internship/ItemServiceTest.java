@@ -2,11 +2,16 @@ package com.siemens.internship;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,10 +24,52 @@ public class ItemServiceTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemProcessingProperties processingProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private DeadLetterItemRepository deadLetterRepository;
+
+    @Autowired
+    private ItemBatchProcessor batchProcessor;
+
+    @Autowired
+    private ThreadPoolTaskExecutor processingJobExecutor;
+
+    // Extra pipeline stage that rejects "Poison" items, to exercise failure handling end to end
+    @TestConfiguration
+    static class PoisonStageConfig {
+        @Bean
+        ItemProcessor poisonDetector() {
+            return new ItemProcessor() {
+                @Override
+                public String name() {
+                    return "poison-detector";
+                }
+
+                @Override
+                public Item process(Item item) {
+                    if (item.getName().startsWith("Poison")) {
+                        throw new IllegalArgumentException("Poisoned item " + item.getId());
+                    }
+                    return item;
+                }
+            };
+        }
+    }
+
     // Clean before each test
     @BeforeEach
     void cleanDatabase() {
         itemRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        deadLetterRepository.deleteAll();
     }
 
     // Test: Normal processing of multiple items
@@ -43,6 +90,17 @@ public class ItemServiceTest {
         });
     }
 
+    // Test: Processing runs on the dedicated job executor, bounded by max-concurrent-jobs
+    @Test
+    void processItemsAsync_runsOnProcessingJobExecutor() throws Exception {
+        itemRepository.save(new Item(null, "Item1", "Desc1", "NEW", "item1@example.com"));
+
+        itemService.processItemsAsync().get();
+
+        assertThat(processingJobExecutor.getThreadPoolExecutor().getLargestPoolSize()).isPositive();
+        assertThat(processingJobExecutor.getMaxPoolSize()).isEqualTo(processingProperties.getMaxConcurrentJobs());
+    }
+
     // Test: No items in the database
     @Test
     void processItemsAsync_withNoItems_shouldReturnEmptyList() throws Exception {
@@ -90,4 +148,131 @@ public class ItemServiceTest {
         assertThat(processedItems).hasSize(1);
         assertThat(processedItems.get(0).getStatus()).isEqualTo("PROCESSED");
     }
-}
\ No newline at end of file
+
+    // Test: More items than fit into one chunk - every chunk should be read and written back
+    @Test
+    void processItemsAsync_withSeveralChunks_shouldProcessAllItems() throws Exception {
+        // Given
+        int originalChunkSize = processingProperties.getChunkSize();
+        processingProperties.setChunkSize(2);
+        for (int i = 1; i <= 5; i++) {
+            itemRepository.save(new Item(null, "Item" + i, "Desc" + i, "NEW", "item" + i + "@example.com"));
+        }
+
+        try {
+            // When
+            List<Item> processedItems = itemService.processItemsAsync().get();
+
+            // Then
+            assertThat(processedItems).hasSize(5);
+            assertThat(itemRepository.findAll())
+                    .allSatisfy(item -> assertThat(item.getStatus()).isEqualTo("PROCESSED"));
+        } finally {
+            processingProperties.setChunkSize(originalChunkSize);
+        }
+    }
+
+    // Test: Repeated findById calls are served from the cache, and writes keep it in sync
+    @Test
+    void findById_shouldBeCachedAndInvalidatedByWrites() {
+        // Given
+        Item item = itemService.save(new Item(null, "Cached", "Desc", "NEW", "cached@example.com"));
+        long hitsBefore = itemService.cacheStats().hitCount();
+
+        // When
+        itemService.findById(item.getId());
+        itemService.findById(item.getId());
+
+        // Then
+        assertThat(itemService.cacheStats().hitCount()).isEqualTo(hitsBefore + 2);
+
+        itemService.deleteById(item.getId());
+        assertThat(itemService.findById(item.getId())).isEmpty();
+    }
+
+    // Test: The batch processor evicts the items it rewrites, so readers see the new status
+    @Test
+    void processItemsAsync_shouldEvictProcessedItemsFromCache() throws Exception {
+        // Given
+        Item item = itemService.save(new Item(null, "Cached", "Desc", "NEW", "cached@example.com"));
+        assertThat(itemService.findById(item.getId())).get().extracting(Item::getStatus).isEqualTo("NEW");
+
+        // When
+        itemService.processItemsAsync().get();
+
+        // Then
+        assertThat(itemService.findById(item.getId())).get().extracting(Item::getStatus).isEqualTo("PROCESSED");
+    }
+
+    // Test: Processing publishes the processed-items counter and the per-item timer
+    @Test
+    void processItemsAsync_shouldRecordMetrics() throws Exception {
+        // Given
+        itemRepository.save(new Item(null, "Metered", "Desc", "NEW", "metered@example.com"));
+        double processedBefore = meterRegistry.get("items.processed").counter().count();
+        long timedBefore = meterRegistry.get("items.processing.item").timer().count();
+
+        // When
+        itemService.processItemsAsync().get();
+
+        // Then
+        assertThat(meterRegistry.get("items.processed").counter().count()).isEqualTo(processedBefore + 1);
+        assertThat(meterRegistry.get("items.processing.item").timer().count()).isEqualTo(timedBefore + 1);
+        assertThat(meterRegistry.get("items.processing.executor.active").gauge().value()).isZero();
+    }
+
+    // Test: Re-running on an already processed table does not process anything again
+    @Test
+    void processItemsAsync_secondRun_shouldSkipProcessedItems() throws Exception {
+        // Given
+        itemRepository.save(new Item(null, "Item1", "Desc1", "NEW", "item1@example.com"));
+        itemRepository.save(new Item(null, "Item2", "Desc2", "PROCESSED", "item2@example.com"));
+
+        // When
+        List<Item> firstRun = itemService.processItemsAsync().get();
+        List<Item> secondRun = itemService.processItemsAsync().get();
+
+        // Then
+        assertThat(firstRun).extracting(Item::getName).containsExactly("Item1");
+        assertThat(secondRun).isEmpty();
+    }
+
+    // Test: A run resumes after the checkpoint left by an interrupted run, then clears it
+    @Test
+    void processItemsAsync_withCheckpoint_shouldResumeAfterIt() throws Exception {
+        // Given
+        Item first = itemRepository.save(new Item(null, "Item1", "Desc1", "NEW", "item1@example.com"));
+        itemRepository.save(new Item(null, "Item2", "Desc2", "NEW", "item2@example.com"));
+        checkpointRepository.save(new ProcessingCheckpoint(batchProcessor.checkpointName(), first.getId(), Instant.now()));
+
+        // When
+        List<Item> processedItems = itemService.processItemsAsync().get();
+
+        // Then
+        assertThat(processedItems).extracting(Item::getName).containsExactly("Item2");
+        assertThat(checkpointRepository.findById(batchProcessor.checkpointName())).isEmpty();
+    }
+
+    // Test: A failing item is dead-lettered and the job reports partial success instead of failing
+    @Test
+    void runJob_withFailingItem_deadLettersItAndCompletesPartially() throws Exception {
+        // Given
+        itemRepository.save(new Item(null, "Healthy", "Desc", "NEW", "healthy@example.com"));
+        Item poison = itemRepository.save(new Item(null, "Poison", "Desc", "NEW", "poison@example.com"));
+
+        // When
+        ProcessingJob job = itemService.runJob(new ProcessingJob()).get();
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ProcessingJob.Status.PARTIALLY_COMPLETED);
+        assertThat(job.getProcessedItems()).isEqualTo(1);
+        assertThat(job.getFailedItems()).isEqualTo(1);
+        assertThat(deadLetterRepository.findAll()).singleElement().satisfies(deadLetter -> {
+            assertThat(deadLetter.getItemId()).isEqualTo(poison.getId());
+            assertThat(deadLetter.getStage()).isEqualTo("poison-detector");
+            assertThat(deadLetter.getAttempts()).isEqualTo(1);
+            assertThat(deadLetter.getError()).contains("Poisoned item");
+        });
+        assertThat(itemRepository.findById(poison.getId())).get().extracting(Item::getStatus).isEqualTo("NEW");
+    }
+}
@@ -0,0 +1,161 @@
+package com.siemens.internship;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Several application contexts ("nodes") processing one file-based H2 database
+class MultiNodeProcessingTest {
+
+    @TempDir
+    Path dataDir;
+
+    /*
+        Chunks of 5 items processed one at a time by the 100 ms delay stage take ~500 ms,
+        longer than the 400 ms lease: the items stay claimed only because the leases are renewed.
+    */
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .run("--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("items") + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--items.processing.lease.node-id=" + nodeId,
+                        "--items.processing.lease.duration=400ms",
+                        "--items.processing.lease.renew-interval=100ms",
+                        "--items.processing.chunk-size=5",
+                        "--items.processing.max-concurrency=1",
+                        "--items.search.rebuild-interval=200ms");
+    }
+
+    private static CompletableFuture<Set<Long>> process(ConfigurableApplicationContext node) {
+        return CompletableFuture.supplyAsync(() -> {
+            Set<Long> processed = ConcurrentHashMap.newKeySet();
+            node.getBean(ItemBatchProcessor.class).processAll(node.getBean(ItemProcessingExecutor.class),
+                    items -> items.forEach(item -> processed.add(item.getId())));
+            return processed;
+        });
+    }
+
+    private static long stageExecutions(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("items.processing.stage")
+                .tag("stage", "simulated-delay").timer().count();
+    }
+
+    // Test: Two nodes processing at the same time split the items between them, and no item is processed twice
+    @Test
+    void processAll_onTwoNodes_processesEveryItemExactlyOnce() {
+        try (ConfigurableApplicationContext nodeA = startNode("node-a");
+             ConfigurableApplicationContext nodeB = startNode("node-b")) {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                items.add(new Item(null, "Item" + i, "Shared", "NEW", "item" + i + "@example.com"));
+            }
+            Set<Long> ids = new HashSet<>(nodeA.getBean(ItemRepository.class).saveAll(items).stream().map(Item::getId).toList());
+
+            CompletableFuture<Set<Long>> processedByA = process(nodeA);
+            CompletableFuture<Set<Long>> processedByB = process(nodeB);
+
+            assertThat(processedByA.join()).isNotEmpty().doesNotContainAnyElementsOf(processedByB.join());
+            assertThat(processedByB.join()).isNotEmpty();
+            Set<Long> processed = new HashSet<>(processedByA.join());
+            processed.addAll(processedByB.join());
+            assertThat(processed).isEqualTo(ids);
+            // Not only written once: no item even went through the processing stage on both nodes
+            assertThat(stageExecutions(nodeA) + stageExecutions(nodeB)).isEqualTo(40);
+            assertThat(nodeA.getBean(JdbcTemplate.class).queryForObject(
+                    "SELECT COUNT(*) FROM item WHERE status = 'PROCESSED' AND lease_owner IS NULL", Integer.class))
+                    .isEqualTo(40);
+        }
+    }
+
+    // Test: An expired lease (crashed node) is taken over, while a live lease of another node is respected
+    @Test
+    void processAll_takesOverExpiredLeasesOnly() {
+        try (ConfigurableApplicationContext node = startNode("node-a")) {
+            ItemRepository repository = node.getBean(ItemRepository.class);
+            Long abandoned = repository.save(new Item(null, "Abandoned", "Crashed node", "NEW", "a@example.com")).getId();
+            Long busy = repository.save(new Item(null, "Busy", "Live node", "NEW", "b@example.com")).getId();
+            JdbcTemplate jdbcTemplate = node.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("UPDATE item SET lease_owner = 'crashed', lease_expires_at = DATEADD(MINUTE, -1, CURRENT_TIMESTAMP)"
+                    + " WHERE id = ?", abandoned);
+            jdbcTemplate.update("UPDATE item SET lease_owner = 'node-b', lease_expires_at = DATEADD(HOUR, 1, CURRENT_TIMESTAMP)"
+                    + " WHERE id = ?", busy);
+
+            assertThat(process(node).join()).containsExactly(abandoned);
+            assertThat(jdbcTemplate.queryForObject("SELECT lease_owner FROM item WHERE id = ?", String.class, busy))
+                    .isEqualTo("node-b");
+        }
+    }
+
+    // Test: An item updated by a client while it is being processed is not overwritten, and counts as a conflict
+    @Test
+    void processAll_leavesItemsUpdatedDuringProcessingAlone() throws InterruptedException {
+        try (ConfigurableApplicationContext node = startNode("node-a")) {
+            Long id = node.getBean(ItemRepository.class)
+                    .save(new Item(null, "Original", "Updated meanwhile", "NEW", "u@example.com")).getId();
+            JdbcTemplate jdbcTemplate = node.getBean(JdbcTemplate.class);
+
+            CompletableFuture<Set<Long>> processed = process(node);
+            // The claim is committed before the 100 ms processing stage starts
+            while (jdbcTemplate.queryForObject("SELECT lease_owner FROM item WHERE id = ?", String.class, id) == null) {
+                Thread.sleep(5);
+            }
+            jdbcTemplate.update("UPDATE item SET name = 'Changed', version = version + 1 WHERE id = ?", id);
+
+            assertThat(processed.join()).isEmpty();
+            assertThat(jdbcTemplate.queryForMap("SELECT name, status, lease_owner FROM item WHERE id = ?", id))
+                    .containsEntry("NAME", "Changed").containsEntry("STATUS", "NEW").containsEntry("LEASE_OWNER", null);
+            assertThat(node.getBean(MeterRegistry.class).get("items.processing.conflicts").counter().count()).isEqualTo(1);
+        }
+    }
+
+    // Test: Two runs started at once on one node do not share leases or the checkpoint: every item is processed once
+    @Test
+    void processAll_twiceOnOneNode_processesEveryItemExactlyOnce() {
+        try (ConfigurableApplicationContext node = startNode("node-a")) {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                items.add(new Item(null, "Item" + i, "Same node", "NEW", "same" + i + "@example.com"));
+            }
+            Set<Long> ids = new HashSet<>(node.getBean(ItemRepository.class).saveAll(items).stream().map(Item::getId).toList());
+
+            CompletableFuture<Set<Long>> first = process(node);
+            CompletableFuture<Set<Long>> second = process(node);
+
+            Set<Long> processed = new HashSet<>(first.join());
+            processed.addAll(second.join());
+            assertThat(processed).isEqualTo(ids);
+            assertThat(stageExecutions(node)).isEqualTo(10);
+        }
+    }
+
+    // Test: An item created on another node becomes searchable after the next scheduled index rebuild
+    @Test
+    void searchIndex_picksUpItemsWrittenOnOtherNodes() throws InterruptedException {
+        try (ConfigurableApplicationContext nodeA = startNode("node-a");
+             ConfigurableApplicationContext nodeB = startNode("node-b")) {
+            Long id = nodeA.getBean(ItemService.class)
+                    .save(new Item(null, "Elsewhere", "Written on node A", "NEW", "elsewhere@example.com")).getId();
+            ItemSearchIndex indexB = nodeB.getBean(ItemSearchIndex.class);
+
+            for (int i = 0; i < 50 && indexB.search("elsewhere", 0, 10).total() == 0; i++) {
+                Thread.sleep(100);
+            }
+            assertThat(indexB.search("elsewhere", 0, 10).ids()).containsExactly(id);
+        }
+    }
+}
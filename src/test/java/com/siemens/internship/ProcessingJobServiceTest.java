@@ -0,0 +1,31 @@
+package com.siemens.internship;
+
+import com.siemens.internship.exceptions.TooManyJobsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessingJobServiceTest {
+
+    // Test: A second job is rejected while the first one is running, and accepted once it has finished
+    @Test
+    void start_whenMaxJobsRunning_throwsTooManyJobs() {
+        ItemService itemService = mock(ItemService.class);
+        CompletableFuture<ProcessingJob> running = new CompletableFuture<>();
+        when(itemService.runJob(any())).thenReturn(running).thenReturn(CompletableFuture.completedFuture(null));
+
+        ProcessingJobService jobService = new ProcessingJobService(itemService, new ItemProcessingProperties());
+
+        ProcessingJob first = jobService.start();
+        assertThatThrownBy(jobService::start).isInstanceOf(TooManyJobsException.class);
+
+        running.complete(first);
+        assertThat(jobService.start()).isNotNull();
+    }
+}
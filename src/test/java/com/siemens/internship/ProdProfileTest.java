@@ -0,0 +1,49 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProdProfileTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                // A command-line argument, since default properties would lose to application-prod.properties
+                .run("--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("items") + ";DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    // Test: The migrated schema passes Hibernate's validation, and items survive a restart of the application
+    @Test
+    void prodProfile_migratesSchemaAndKeepsItemsAcrossRestarts() {
+        Long id;
+        try (ConfigurableApplicationContext context = start()) {
+            id = context.getBean(ItemService.class)
+                    .save(new Item(null, "Durable", "Kept on disk", "NEW", "durable@example.com")).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(context.getBean(ItemRepository.class).findById(id))
+                    .hasValueSatisfying(item -> assertThat(item.getName()).isEqualTo("Durable"));
+            assertThat(context.getBean(ItemSearchIndex.class).search("durable", 0, 10).ids()).containsExactly(id);
+            assertThat(context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\"", String.class))
+                    .contains("1", "2", "3");
+            // Rows inserted without a version, e.g. by hand, start at 0 instead of NULL
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("INSERT INTO item (id, name, email) VALUES (-1, 'Manual', 'manual@example.com')");
+            assertThat(jdbcTemplate.queryForObject("SELECT version FROM item WHERE id = -1", Long.class)).isZero();
+        }
+    }
+}
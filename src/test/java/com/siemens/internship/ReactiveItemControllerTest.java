@@ -0,0 +1,208 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveItemControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Item create(String name, String email) {
+        return webTestClient.post().uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Item(null, name, "Desc", "NEW", email))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Item.class)
+                .returnResult().getResponseBody();
+    }
+
+    // Test: Create an item through R2DBC and read it back, expect 201 Created then 200 OK
+    @Test
+    void createAndGetItem_returnsCreatedThenOk() {
+        Item created = create("Reactive", "reactive@example.com");
+        assertThat(created.getId()).isNotNull();
+
+        webTestClient.get().uri("/api/items/" + created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Reactive");
+    }
+
+    // Test: Create an item with invalid email and expect 400 Bad Request with the field error
+    @Test
+    void createItem_withInvalidEmail_returnsBadRequest() {
+        webTestClient.post().uri("/api/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Item(null, "Name", "Desc", "NEW", "invalid-email"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.email").isEqualTo("Email should be valid");
+    }
+
+    // Test: Update, then delete an item, then expect 404 Not Found when deleting it again
+    @Test
+    void updateAndDeleteItem_succeeds() {
+        Item created = create("Before", "before@example.com");
+        created.setName("After");
+
+        webTestClient.put().uri("/api/items/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("After");
+
+        webTestClient.delete().uri("/api/items/" + created.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/items/" + created.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    // Test: Stream all items as NDJSON
+    @Test
+    void getAllItems_asNdjson_streamsItems() {
+        create("Streamed", "streamed@example.com");
+
+        assertThat(webTestClient.get().uri("/api/items")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Item.class)
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(5)))
+                .extracting(Item::getName)
+                .contains("Streamed");
+    }
+
+    // Test: Page through items filtered by email, expect a Link header to the next page while pages are full
+    @Test
+    void getAllItems_withLimitAndFilter_returnsPageWithNextLink() {
+        Item first = create("Paged 1", "paged@example.com");
+        Item second = create("Paged 2", "paged@example.com");
+        create("Other", "other-page@example.com");
+
+        webTestClient.get().uri("/api/items?email=paged@example.com&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> assertThat(link).contains("after=" + first.getId()))
+                .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].name").isEqualTo("Paged 1");
+
+        webTestClient.get().uri("/api/items?email=paged@example.com&limit=5&after=" + first.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].id").isEqualTo(second.getId());
+    }
+
+    // Test: List with a parameter only the MVC controller supports, expect 400 Bad Request instead of the whole table
+    @Test
+    void getAllItems_withFields_returnsBadRequest() {
+        webTestClient.get().uri("/api/items?fields=id,name")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").value(error -> assertThat((String) error).contains("fields"));
+    }
+
+    // Test: Update and delete with a stale If-Match, expect 412 Precondition Failed; the current ETag succeeds
+    @Test
+    void updateAndDeleteItem_withStaleIfMatch_returnsPreconditionFailed() {
+        Item created = create("Versioned", "versioned@example.com");
+        String etag = webTestClient.get().uri("/api/items/" + created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Item.class).getResponseHeaders().getETag();
+        created.setName("Changed");
+
+        String newEtag = webTestClient.put().uri("/api/items/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Item.class).getResponseHeaders().getETag();
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        webTestClient.put().uri("/api/items/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(created)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.delete().uri("/api/items/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        webTestClient.delete().uri("/api/items/" + created.getId())
+                .header(HttpHeaders.IF_MATCH, newEtag)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    // Test: Start the reactive processing pipeline and poll the job until it completes
+    @Test
+    void processItems_returnsAcceptedAndJobCompletes() throws Exception {
+        Item created = create("ToProcess", "process@example.com");
+        awaitJob();
+
+        webTestClient.get().uri("/api/items/" + created.getId())
+                .exchange()
+                .expectBody().jsonPath("$.status").isEqualTo("PROCESSED");
+    }
+
+    // Test: An item leased by another node is left alone by the reactive pipeline
+    @Test
+    void processItems_skipsItemsLeasedByAnotherNode() throws Exception {
+        Item leased = create("Leased", "leased@example.com");
+        jdbcTemplate.update("UPDATE item SET lease_owner = 'other-node',"
+                + " lease_expires_at = DATEADD(MINUTE, 5, CURRENT_TIMESTAMP) WHERE id = ?", leased.getId());
+        try {
+            awaitJob();
+
+            webTestClient.get().uri("/api/items/" + leased.getId())
+                    .exchange()
+                    .expectBody().jsonPath("$.status").isEqualTo("NEW");
+        } finally {
+            jdbcTemplate.update("UPDATE item SET lease_owner = NULL, lease_expires_at = NULL WHERE id = ?", leased.getId());
+        }
+    }
+
+    private void awaitJob() throws InterruptedException {
+        ProcessingJob job = webTestClient.post().uri("/api/items/process")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody(ProcessingJob.class)
+                .returnResult().getResponseBody();
+
+        String status = "RUNNING";
+        for (int i = 0; i < 100 && !status.equals("COMPLETED"); i++) {
+            Thread.sleep(100);
+            status = webTestClient.get().uri("/api/items/process/" + job.getJobId())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .returnResult().getResponseBody()
+                    .replaceAll(".*\"status\":\"([A-Z]+)\".*", "$1");
+        }
+
+        assertThat(status).isEqualTo("COMPLETED");
+    }
+}